@@ -0,0 +1,81 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A cache that can read and write many entries in one round-trip.
+ *
+ * Spring's {@link Cache} abstraction has no multi-key operations; callers use
+ * the static helpers, which fall back to per-key calls for caches that do not
+ * implement this interface (e.g. the simple cache used in tests).
+ */
+public interface BulkCache extends Cache {
+
+    /**
+     * @return cached values keyed by the requested key; misses are absent
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Reads the keys and loads all misses with a single loader call, caching
+     * what it returns.
+     *
+     * @param loader receives the missing keys; keys absent from its result are
+     *               treated as not found and not cached
+     * @return cached or loaded values keyed by the requested key
+     */
+    Map<Object, Object> getAll(Collection<?> keys, Function<Set<Object>, Map<?, ?>> loader);
+
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BulkCache bulk) {
+            return bulk.getAll(keys);
+        }
+        Map<Object, Object> found = new LinkedHashMap<>();
+        for (Object key : keys) {
+            ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                found.put(key, wrapper.get());
+            }
+        }
+        return found;
+    }
+
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys,
+                                      Function<Set<Object>, Map<?, ?>> loader) {
+        if (cache instanceof BulkCache bulk) {
+            return bulk.getAll(keys, loader);
+        }
+        Map<Object, Object> found = getAll(cache, keys);
+        Set<Object> misses = new LinkedHashSet<>(keys);
+        misses.removeAll(found.keySet());
+        if (misses.isEmpty()) {
+            return found;
+        }
+        Map<Object, Object> loaded = new LinkedHashMap<>();
+        loader.apply(misses).forEach((key, value) -> {
+            if (value != null) {
+                loaded.put(key, value);
+            }
+        });
+        putAll(cache, loaded);
+        found.putAll(loaded);
+        return found;
+    }
+
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof BulkCache bulk) {
+            bulk.putAll(entries);
+            return;
+        }
+        entries.forEach(cache::put);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Cache Invalidation Bus
+ *
+ * Broadcasts near-cache invalidations to every node over a Redis pub/sub
+ * channel. Message format: {@code <origin node>|<cache name>|<key>}, with an
+ * empty key meaning "clear the whole cache". Nodes ignore their own messages.
+ *
+ * Pub/sub is fire-and-forget: a node that misses a message (e.g. while
+ * reconnecting) keeps a stale near entry until the near TTL expires, which
+ * is what bounds staleness.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChannelTopic topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    public ChannelTopic getTopic() {
+        return topic;
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR);
+    }
+
+    /**
+     * Listener applying invalidations published by other nodes to the given manager.
+     */
+    public MessageListener listenerFor(LayeredCacheManager cacheManager) {
+        return (message, pattern) -> {
+            String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length < 3) {
+                log.warn("Ignoring malformed cache invalidation message on {}", topic.getTopic());
+                return;
+            }
+            if (nodeId.equals(parts[0])) {
+                return;
+            }
+            cacheManager.applyRemoteInvalidation(parts[1], parts[2].isEmpty() ? null : parts[2]);
+        };
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), message);
+        } catch (Exception e) {
+            // Other nodes fall back to near TTL expiry
+            log.warn("Failed to broadcast cache invalidation: {}", e.getMessage());
+        }
+    }
+}
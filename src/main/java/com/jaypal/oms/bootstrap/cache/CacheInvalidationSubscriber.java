@@ -0,0 +1,57 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Cache Invalidation Subscriber
+ *
+ * Owns the Redis listener container that feeds remote invalidations into the
+ * layered cache manager. The container is started in the background rather
+ * than as part of the context lifecycle, so the application still starts while
+ * Redis is unreachable (the container fails fast on its first subscription).
+ * Retries until subscribed; after that the container reconnects on its own.
+ *
+ * Until subscribed, near entries on this node are bounded only by the near TTL.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber {
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private boolean failureLogged;
+
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                       CacheInvalidationBus invalidationBus,
+                                       LayeredCacheManager cacheManager) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus.listenerFor(cacheManager), invalidationBus.getTopic());
+        container.afterPropertiesSet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.subscribe-retry-ms:5000}")
+    public void ensureSubscribed() {
+        if (container.isRunning()) {
+            return;
+        }
+        try {
+            container.start();
+            failureLogged = false;
+            log.info("Subscribed to cache invalidations");
+        } catch (Exception e) {
+            container.stop(); // Reset so the next attempt starts from scratch
+            if (!failureLogged) {
+                log.warn("Cannot subscribe to cache invalidations, retrying in background: {}",
+                        e.getMessage());
+                failureLogged = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        container.destroy();
+    }
+}
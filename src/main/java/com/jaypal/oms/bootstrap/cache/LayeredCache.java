@@ -0,0 +1,455 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache: an in-process Caffeine near cache in front of a shared
+ * (Redis) far cache.
+ *
+ * Reads are served from the near tier when possible and fall through to the
+ * far tier, populating the near tier on the way back. Writes go to both.
+ * Evictions go to both and are broadcast so other nodes drop their near copy.
+ *
+ * Near keys are the String form of the cache key, the same form the far tier
+ * stores, so remote invalidations can address them. Null values are never
+ * cached in the near tier.
+ *
+ * Bulk reads check the near tier first and fetch only the remaining keys from
+ * the far tier, with a single MGET when it is Redis.
+ *
+ * Loads (get with a value loader, getAll with a loader) are single-flight per
+ * key on this node: concurrent misses for a key wait for the one load in
+ * flight instead of each querying the database. With a refresh-ahead policy,
+ * entries loaded here and read often are reloaded in the background shortly
+ * before their far TTL runs out (see {@link RefreshAheadPolicy}).
+ *
+ * Metrics (tagged cache=&lt;name&gt;): cache.loads, cache.loads.coalesced,
+ * cache.refreshes
+ */
+@Slf4j
+public class LayeredCache implements BulkCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> near;
+    private final Cache far;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisBulkCacheOperations bulkOperations;
+    private final RefreshAheadPolicy refreshAhead;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStamp> loadStamps;
+
+    private final Counter farHits;
+    private final Counter farMisses;
+    private final Counter farEvictions;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter refreshes;
+
+    public LayeredCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> near,
+                        Cache far,
+                        CacheInvalidationBus invalidationBus,
+                        RedisBulkCacheOperations bulkOperations,
+                        RefreshAheadPolicy refreshAhead,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.near = near;
+        this.far = far;
+        this.invalidationBus = invalidationBus;
+        this.bulkOperations = bulkOperations;
+        this.refreshAhead = refreshAhead;
+        this.loadStamps = Caffeine.newBuilder()
+                .maximumSize(refreshAhead == null ? 0 : refreshAhead.maximumTracked())
+                .build();
+
+        this.farHits = farCounter(meterRegistry, "cache.gets", "result", "hit");
+        this.farMisses = farCounter(meterRegistry, "cache.gets", "result", "miss");
+        this.farEvictions = farCounter(meterRegistry, "cache.evictions");
+        this.loads = counter(meterRegistry, "cache.loads");
+        this.coalescedLoads = counter(meterRegistry, "cache.loads.coalesced");
+        this.refreshes = counter(meterRegistry, "cache.refreshes");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return far.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        Object value = near.getIfPresent(nearKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = far.get(key);
+        if (wrapper == null) {
+            farMisses.increment();
+            return null;
+        }
+        farHits.increment();
+        if (wrapper.get() != null) {
+            near.put(nearKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Function<Set<Object>, Map<?, ?>> loader = keys -> callLoader(key, valueLoader);
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            refreshIfDue(List.of(key), loader);
+            return (T) wrapper.get();
+        }
+        return (T) load(List.of(key), loader, false).get(key);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        far.put(key, value);
+        if (value != null) {
+            near.put(nearKey(key), value);
+        }
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        List<Object> farKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = near.getIfPresent(nearKey(key));
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                farKeys.add(key);
+            }
+        }
+        if (farKeys.isEmpty()) {
+            return found;
+        }
+
+        Map<Object, Object> fromFar = bulkOperations != null && far instanceof RedisCache redisCache
+                ? bulkOperations.getAll(redisCache, farKeys)
+                : BulkCache.getAll(far, farKeys);
+        farHits.increment(fromFar.size());
+        farMisses.increment(farKeys.size() - fromFar.size());
+
+        fromFar.forEach((key, value) -> near.put(nearKey(key), value));
+        found.putAll(fromFar);
+        return found;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys, Function<Set<Object>, Map<?, ?>> loader) {
+        Map<Object, Object> found = getAll(keys);
+        refreshIfDue(found.keySet(), loader);
+        if (found.size() == keys.size()) {
+            return found;
+        }
+        List<Object> misses = keys.stream()
+                .filter(key -> !found.containsKey(key))
+                .distinct()
+                .map(key -> (Object) key)
+                .toList();
+        found.putAll(load(misses, loader, false));
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (bulkOperations != null && far instanceof RedisCache redisCache) {
+            bulkOperations.putAll(redisCache, entries);
+        } else {
+            BulkCache.putAll(far, entries);
+        }
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                near.put(nearKey(key), value);
+            }
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = far.putIfAbsent(key, value);
+        // Let the next read pick up whichever value won in the far tier
+        near.invalidate(nearKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        far.evict(key);
+        farEvictions.increment();
+        near.invalidate(nearKey(key));
+        loadStamps.invalidate(nearKey(key));
+        invalidationBus.publishEvict(name, nearKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = far.evictIfPresent(key);
+        if (present) {
+            farEvictions.increment();
+        }
+        near.invalidate(nearKey(key));
+        loadStamps.invalidate(nearKey(key));
+        invalidationBus.publishEvict(name, nearKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        far.clear();
+        near.invalidateAll();
+        loadStamps.invalidateAll();
+        invalidationBus.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = far.invalidate();
+        near.invalidateAll();
+        loadStamps.invalidateAll();
+        invalidationBus.publishClear(name);
+        return hadEntries;
+    }
+
+    /**
+     * Drops a key from the near tier only (invalidation from another node).
+     */
+    void evictNear(String key) {
+        near.invalidate(key);
+    }
+
+    /**
+     * Drops the whole near tier only (invalidation from another node).
+     */
+    void clearNear() {
+        near.invalidateAll();
+    }
+
+    /**
+     * Loads the keys with one loader call, coalescing with loads already in
+     * flight on this node.
+     *
+     * Flow:
+     * 1. Claim each key; keys already claimed by another caller are awaited
+     * 2. Re-check the near tier (a load may have finished since our miss)
+     * 3. Load the claimed keys, write them to both tiers, release the waiters
+     * 4. Wait for the keys loaded by others
+     *
+     * Keys are always loaded before waiting on others, so two callers with
+     * overlapping key sets cannot wait on each other.
+     *
+     * @param refresh background refresh: skips keys already loading and
+     *                reloads keys even if they are cached
+     */
+    private Map<Object, Object> load(Collection<?> keys, Function<Set<Object>, Map<?, ?>> loader,
+                                     boolean refresh) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        Map<Object, CompletableFuture<Object>> claimed = new LinkedHashMap<>();
+        Map<Object, CompletableFuture<Object>> awaited = new LinkedHashMap<>();
+        for (Object key : keys) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> other = inFlight.putIfAbsent(nearKey(key), mine);
+            if (other == null) {
+                claimed.put(key, mine);
+            } else if (!refresh) {
+                awaited.put(key, other);
+            }
+        }
+        if (!refresh) {
+            claimed.entrySet().removeIf(claim -> {
+                Object cached = near.getIfPresent(nearKey(claim.getKey()));
+                if (cached == null) {
+                    return false;
+                }
+                result.put(claim.getKey(), cached);
+                release(claim.getKey(), claim.getValue(), cached);
+                return true;
+            });
+        }
+
+        if (!claimed.isEmpty()) {
+            Map<Object, Object> loaded = new LinkedHashMap<>();
+            try {
+                long start = System.nanoTime();
+                Map<?, ?> values = loader.apply(Set.copyOf(claimed.keySet()));
+                long loadMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                loads.increment(claimed.size());
+                claimed.keySet().forEach(key -> {
+                    Object value = values.get(key);
+                    if (value != null) {
+                        loaded.put(key, value);
+                    }
+                });
+                if (!loaded.isEmpty()) {
+                    putAll(loaded);
+                    stamp(loaded, loadMillis);
+                }
+            } catch (RuntimeException e) {
+                claimed.forEach((key, future) -> {
+                    inFlight.remove(nearKey(key), future);
+                    future.completeExceptionally(e);
+                });
+                throw e;
+            }
+            claimed.forEach((key, future) -> release(key, future, loaded.get(key)));
+            result.putAll(loaded);
+        }
+
+        if (!awaited.isEmpty()) {
+            coalescedLoads.increment(awaited.size());
+            awaited.forEach((key, future) -> {
+                Object value = join(future);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+
+    private void release(Object key, CompletableFuture<Object> future, Object value) {
+        inFlight.remove(nearKey(key), future);
+        future.complete(value);
+    }
+
+    /**
+     * Remembers when entries loaded here expire in the far tier, so hits can
+     * decide to refresh them early. Only Redis far tiers expose a TTL.
+     */
+    private void stamp(Map<Object, Object> loaded, long loadMillis) {
+        if (refreshAhead == null || !(far instanceof RedisCache redisCache)) {
+            return;
+        }
+        long now = refreshAhead.now();
+        loaded.forEach((key, value) -> {
+            Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+            if (!ttl.isZero() && !ttl.isNegative()) {
+                loadStamps.put(nearKey(key), new LoadStamp(now + ttl.toMillis(), loadMillis));
+            }
+        });
+    }
+
+    /**
+     * Schedules a background reload of the hit keys that the refresh-ahead
+     * policy picks. Each load triggers at most one early refresh; the reload
+     * stamps the entry again. If the executor is saturated the entries simply
+     * expire and are reloaded on the next miss.
+     */
+    private void refreshIfDue(Collection<?> hitKeys, Function<Set<Object>, Map<?, ?>> loader) {
+        if (refreshAhead == null || hitKeys.isEmpty()) {
+            return;
+        }
+        List<Object> due = new ArrayList<>();
+        for (Object key : hitKeys) {
+            String nearKey = nearKey(key);
+            LoadStamp stamp = loadStamps.getIfPresent(nearKey);
+            if (stamp != null && refreshAhead.shouldRefresh(stamp.expiresAtMillis(), stamp.loadMillis())) {
+                loadStamps.invalidate(nearKey);
+                due.add(key);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            refreshAhead.executor().execute(() -> {
+                try {
+                    load(due, loader, true);
+                } catch (RuntimeException e) {
+                    log.warn("Refresh-ahead failed: cache={}, keys={}: {}", name, due, e.getMessage());
+                }
+            });
+            refreshes.increment(due.size());
+        } catch (RejectedExecutionException e) {
+            log.debug("Refresh-ahead skipped, executor saturated: cache={}, keys={}", name, due);
+        }
+    }
+
+    private static Map<?, ?> callLoader(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        return value == null ? Map.of() : Map.of(key, value);
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter farCounter(MeterRegistry meterRegistry, String meter, String... tags) {
+        return Counter.builder(meter)
+                .tags(tags)
+                .tag("cache", name)
+                .tag("tier", "far")
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String meter) {
+        return Counter.builder(meter)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private record LoadStamp(long expiresAtMillis, long loadMillis) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layered Cache Manager
+ *
+ * Wraps every cache of the far (Redis) cache manager in a {@link LayeredCache}
+ * with its own bounded Caffeine near cache.
+ *
+ * Metrics (tagged cache=&lt;name&gt;, tier=near|far):
+ * - cache.gets (result=hit|miss)
+ * - cache.evictions
+ * - near tier also: cache.puts, cache.size (from Caffeine statistics)
+ * - untiered: cache.loads, cache.loads.coalesced, cache.refreshes
+ */
+@Slf4j
+public class LayeredCacheManager implements CacheManager {
+
+    private final CacheManager far;
+    private final Caffeine<Object, Object> nearSpec;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisBulkCacheOperations bulkOperations;
+    private final RefreshAheadPolicy refreshAhead;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LayeredCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param bulkOperations multi-key access to Redis far caches; null to fall
+     *                       back to per-key calls
+     * @param refreshAhead   early background refresh of hot entries; null to
+     *                       let entries expire
+     */
+    public LayeredCacheManager(CacheManager far,
+                               Caffeine<Object, Object> nearSpec,
+                               CacheInvalidationBus invalidationBus,
+                               RedisBulkCacheOperations bulkOperations,
+                               RefreshAheadPolicy refreshAhead,
+                               MeterRegistry meterRegistry) {
+        this.far = far;
+        this.nearSpec = nearSpec.recordStats();
+        this.invalidationBus = invalidationBus;
+        this.bulkOperations = bulkOperations;
+        this.refreshAhead = refreshAhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        LayeredCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache farCache = far.getCache(name);
+        if (farCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> createCache(n, farCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return far.getCacheNames();
+    }
+
+    /**
+     * Applies an invalidation published by another node to the near tier.
+     *
+     * @param key the key to drop, or null to clear the cache
+     */
+    void applyRemoteInvalidation(String cacheName, String key) {
+        LayeredCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return; // Nothing cached locally yet
+        }
+        if (key == null) {
+            cache.clearNear();
+        } else {
+            cache.evictNear(key);
+        }
+        log.debug("Applied remote invalidation: cache={}, key={}", cacheName, key == null ? "*" : key);
+    }
+
+    private LayeredCache createCache(String name, Cache farCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> near = nearSpec.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, near, name, Tags.of("tier", "near"));
+        return new LayeredCache(name, near, farCache, invalidationBus, bulkOperations, refreshAhead,
+                meterRegistry);
+    }
+}
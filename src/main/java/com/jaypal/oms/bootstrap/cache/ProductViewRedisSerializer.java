@@ -0,0 +1,224 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.jaypal.oms.catalog.api.ProductView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact binary Redis serializer for cached {@link ProductView} values.
+ *
+ * Format (version 1):
+ * - version byte (0x01)
+ * - flags byte: active, name present, price present, price wider than a long
+ * - sku: varint length + UTF-8 bytes
+ * - name: varint length + UTF-8 bytes (if present)
+ * - price: zigzag varint scale + zigzag varint unscaled value, or varint
+ *   length + two's-complement bytes when wider than a long (if present)
+ *
+ * Rolling deploys:
+ * - Reads always accept both this format and JSON written by the fallback
+ *   serializer, so nodes can switch write format in either direction.
+ * - Leading bytes 0x01-0x1F are reserved for binary versions (JSON never starts
+ *   with a control character). A version this node does not know is read as a
+ *   cache miss, so the entry is reloaded and overwritten instead of failing.
+ * - Values other than ProductView are handed to the fallback serializer.
+ */
+@Slf4j
+public class ProductViewRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION_1 = 0x01;
+    private static final byte MAX_RESERVED_VERSION = 0x1F;
+
+    private static final int ACTIVE = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_PRICE = 1 << 2;
+    private static final int WIDE_PRICE = 1 << 3;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeBinary;
+
+    /**
+     * @param fallback    serializer for JSON entries and non-ProductView values
+     * @param writeBinary false to keep writing JSON (first step of a rollout
+     *                    while older nodes that only read JSON are still running)
+     */
+    public ProductViewRedisSerializer(RedisSerializer<Object> fallback, boolean writeBinary) {
+        this.fallback = fallback;
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeBinary && value instanceof ProductView view) {
+            return encode(view);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte version = bytes[0];
+        if (version == VERSION_1) {
+            return decode(bytes);
+        }
+        if (version >= 0 && version <= MAX_RESERVED_VERSION) {
+            log.debug("Unknown cached ProductView format version {}, treating as a miss", version);
+            return null;
+        }
+        return fallback.deserialize(bytes);
+    }
+
+    static byte[] encode(ProductView view) {
+        byte[] sku = view.sku().getBytes(StandardCharsets.UTF_8);
+        byte[] name = view.name() == null ? null : view.name().getBytes(StandardCharsets.UTF_8);
+        BigDecimal price = view.price();
+
+        int flags = view.active() ? ACTIVE : 0;
+        if (name != null) {
+            flags |= HAS_NAME;
+        }
+        BigInteger unscaled = null;
+        if (price != null) {
+            flags |= HAS_PRICE;
+            unscaled = price.unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                flags |= WIDE_PRICE;
+            }
+        }
+
+        Writer out = new Writer(16 + sku.length + (name == null ? 0 : name.length));
+        out.writeByte(VERSION_1);
+        out.writeByte(flags);
+        out.writeBytes(sku);
+        if (name != null) {
+            out.writeBytes(name);
+        }
+        if (price != null) {
+            out.writeVarLong(zigzag(price.scale()));
+            if ((flags & WIDE_PRICE) != 0) {
+                out.writeBytes(unscaled.toByteArray());
+            } else {
+                out.writeVarLong(zigzag(unscaled.longValue()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static ProductView decode(byte[] bytes) {
+        try {
+            Reader in = new Reader(bytes, 1);
+            int flags = in.readByte();
+            String sku = in.readString();
+            String name = (flags & HAS_NAME) != 0 ? in.readString() : null;
+            BigDecimal price = null;
+            if ((flags & HAS_PRICE) != 0) {
+                int scale = (int) unzigzag(in.readVarLong());
+                price = (flags & WIDE_PRICE) != 0
+                        ? new BigDecimal(new BigInteger(in.readBytes()), scale)
+                        : BigDecimal.valueOf(unzigzag(in.readVarLong()), scale);
+            }
+            return new ProductView(sku, name, price, (flags & ACTIVE) != 0);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot decode cached ProductView", e);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readByte() {
+            return buf[pos++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        String readString() {
+            int length = Math.toIntExact(readVarLong());
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = Math.toIntExact(readVarLong());
+            byte[] value = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes against a {@link RedisCache}.
+ *
+ * Uses the cache's own key prefix and serializers, so entries are
+ * interchangeable with those written by single-key cache operations:
+ * - getAll: one MGET
+ * - putAll: pipelined SETs with the cache's TTL (one round-trip)
+ */
+public class RedisBulkCacheOperations {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisBulkCacheOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    public Map<Object, Object> getAll(RedisCache cache, List<?> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        byte[][] redisKeys = keys.stream()
+                .map(key -> redisKey(cache, key))
+                .toArray(byte[][]::new);
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        if (values == null) {
+            return found;
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values.get(i);
+            Object decoded = value == null
+                    ? null
+                    : config.getValueSerializationPair().read(ByteBuffer.wrap(value));
+            if (decoded != null) { // Unreadable entries count as misses
+                found.put(keys.get(i), decoded);
+            }
+        }
+        return found;
+    }
+
+    public void putAll(RedisCache cache, Map<?, ?> entries) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        List<byte[][]> writes = new ArrayList<>(entries.size());
+        List<Expiration> expirations = new ArrayList<>(entries.size());
+
+        entries.forEach((key, value) -> {
+            if (value == null) {
+                return; // Redis caches here never store nulls
+            }
+            writes.add(new byte[][]{
+                    redisKey(cache, key),
+                    ByteUtils.getBytes(config.getValueSerializationPair().write(value))});
+            Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+            expirations.add(ttl.isZero() || ttl.isNegative()
+                    ? Expiration.persistent()
+                    : Expiration.from(ttl));
+        });
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (int i = 0; i < writes.size(); i++) {
+                    connection.stringCommands().set(writes.get(i)[0], writes.get(i)[1],
+                            expirations.get(i), SetOption.upsert());
+                }
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    private static byte[] redisKey(RedisCache cache, Object key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String cacheKey = String.valueOf(key);
+        if (config.usePrefix()) {
+            cacheKey = config.getKeyPrefixFor(cache.getName()) + cacheKey;
+        }
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+}
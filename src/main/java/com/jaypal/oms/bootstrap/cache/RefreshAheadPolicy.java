@@ -0,0 +1,71 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Probabilistic early refresh ("XFetch") for cache entries loaded on this node.
+ *
+ * On every hit an entry is refreshed in the background when
+ *   now + delta * beta * -ln(random) >= expiresAt
+ * where delta is the time the last load took (at least minRecomputeTime).
+ * The chance of refreshing on a single hit is exp(-remaining / (delta * beta)),
+ * so an entry read often is almost certainly refreshed before it expires,
+ * while a rarely read one simply expires.
+ *
+ * - beta: above 1 refreshes earlier, below 1 later
+ * - minRecomputeTime: floor for delta; database loads take milliseconds, which
+ *   alone would leave only a few milliseconds of refresh window
+ */
+public class RefreshAheadPolicy {
+
+    private final double beta;
+    private final long minRecomputeMillis;
+    private final int maximumTracked;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    public RefreshAheadPolicy(double beta, Duration minRecomputeTime, int maximumTracked, Executor executor) {
+        this(beta, minRecomputeTime, maximumTracked, executor,
+                System::currentTimeMillis,
+                () -> 1.0 - ThreadLocalRandom.current().nextDouble()); // (0, 1]: ln never sees 0
+    }
+
+    RefreshAheadPolicy(double beta, Duration minRecomputeTime, int maximumTracked, Executor executor,
+                       LongSupplier clock, DoubleSupplier random) {
+        this.beta = beta;
+        this.minRecomputeMillis = minRecomputeTime.toMillis();
+        this.maximumTracked = maximumTracked;
+        this.executor = executor;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * @param expiresAtMillis when the far entry expires
+     * @param loadMillis      how long the last load took
+     */
+    boolean shouldRefresh(long expiresAtMillis, long loadMillis) {
+        double delta = Math.max(loadMillis, minRecomputeMillis);
+        return now() - delta * beta * Math.log(random.getAsDouble()) >= expiresAtMillis;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Upper bound on keys whose load time and expiry are remembered per cache.
+     */
+    int maximumTracked() {
+        return maximumTracked;
+    }
+
+    Executor executor() {
+        return executor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jaypal.oms.bootstrap.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Clock Configuration
+ *
+ * Single source of "now" for expiry and sweep cutoffs, so tests can pin time
+ * with Clock.fixed instead of sleeping.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
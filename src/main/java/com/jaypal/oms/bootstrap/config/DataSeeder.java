@@ -1,5 +1,6 @@
 package com.jaypal.oms.bootstrap.config;
 
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
 import com.jaypal.oms.catalog.infrastructure.persistence.ProductJpaEntity;
 import com.jaypal.oms.catalog.infrastructure.persistence.SpringDataProductRepository;
 import com.jaypal.oms.inventory.infrastructure.persistence.InventoryJpaEntity;
@@ -17,7 +18,8 @@ public class DataSeeder {
     @Bean
     public CommandLineRunner initData(
             SpringDataProductRepository productRepository,
-            SpringDataInventoryRepository inventoryRepository) {
+            SpringDataInventoryRepository inventoryRepository,
+            CatalogVersionPort catalogVersion) {
 
         return args -> {
             if (productRepository.count() == 0) {
@@ -25,6 +27,8 @@ public class DataSeeder {
                         new ProductJpaEntity("SKU-123", "Laptop", new BigDecimal("1200.00"), true),
                         new ProductJpaEntity("SKU-456", "Mouse", new BigDecimal("25.50"), true),
                         new ProductJpaEntity("SKU-789", "Monitor", new BigDecimal("300.00"), true)));
+                // Listings cached against an earlier database must not be served
+                catalogVersion.bump();
             }
 
             if (inventoryRepository.count() == 0) {
@@ -1,11 +1,24 @@
 package com.jaypal.oms.bootstrap.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jaypal.oms.bootstrap.cache.CacheInvalidationBus;
+import com.jaypal.oms.bootstrap.cache.CacheInvalidationSubscriber;
+import com.jaypal.oms.bootstrap.cache.LayeredCacheManager;
+import com.jaypal.oms.bootstrap.cache.ProductViewRedisSerializer;
+import com.jaypal.oms.bootstrap.cache.RedisBulkCacheOperations;
+import com.jaypal.oms.bootstrap.cache.RefreshAheadPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 
 import java.time.Duration;
@@ -13,14 +26,63 @@ import java.time.Duration;
 /**
  * Redis Cache Configuration
  *
- * Configures Redis as the caching backend with JSON serialization.
+ * Configures a two-tier cache: a bounded in-process Caffeine near cache
+ * (app.cache.near.*) in front of Redis with JSON serialization.
+ * Evictions are broadcast over Redis pub/sub (app.cache.invalidation-channel)
+ * so every node drops its near copy. Caches support multi-key reads (MGET)
+ * and writes through BulkCache.
+ * Product values use a compact versioned binary format
+ * (app.cache.products.value-format: binary | json); every node reads both.
+ * Concurrent misses for a key are coalesced into one load per node, and hot
+ * entries are refreshed in the background before their TTL runs out
+ * (app.cache.refresh-ahead.*).
  * TTL and cache names are defined per-module.
+ *
+ * Beans are created when spring.cache.type is redis (the default); other cache
+ * types (e.g. simple in tests) fall back to Spring Boot's cache auto-configuration.
  */
 @Configuration
+@EnableCaching
 public class RedisCacheConfig {
 
+    private static final String CACHE_TYPE = "spring.cache.type";
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis", matchIfMissing = true)
+    public CacheInvalidationBus cacheInvalidationBus(
+            StringRedisTemplate redisTemplate,
+            @Value("${app.cache.invalidation-channel:oms:cache:invalidation}") String channel) {
+        return new CacheInvalidationBus(redisTemplate, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis", matchIfMissing = true)
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${app.cache.refresh-ahead.threads:2}") int threads,
+            @Value("${app.cache.refresh-ahead.queue-capacity:1000}") int queueCapacity) {
+        // Full queue: refreshes are skipped (rejected), entries expire normally
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cache-refresh-");
+        return executor;
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis", matchIfMissing = true)
+    public LayeredCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus invalidationBus,
+            ThreadPoolTaskExecutor cacheRefreshExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.near.maximum-size:10000}") long nearMaximumSize,
+            @Value("${app.cache.near.expire-after-write:30s}") Duration nearExpireAfterWrite,
+            @Value("${app.cache.products.value-format:binary}") String productValueFormat,
+            @Value("${app.cache.refresh-ahead.enabled:true}") boolean refreshAheadEnabled,
+            @Value("${app.cache.refresh-ahead.beta:1.0}") double refreshAheadBeta,
+            @Value("${app.cache.refresh-ahead.min-recompute-time:5s}") Duration minRecomputeTime) {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1)) // Default TTL: 1 hour
                 .serializeKeysWith(
@@ -30,30 +92,52 @@ public class RedisCacheConfig {
                 )
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
+                                jsonSerializer
                         )
                 )
                 .disableCachingNullValues(); // Don't cache null values
 
-        return RedisCacheManager
+        RedisCacheManager redisCacheManager = RedisCacheManager
                 .builder(connectionFactory)
                 .cacheDefaults(config)
-                // Catalog cache: 60-minute TTL
-                .withCacheConfiguration("products",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(60))
-                                .serializeKeysWith(
-                                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                                new StringRedisSerializer()
-                                        )
+                // Catalog cache: 60-minute TTL, compact binary values
+                .withCacheConfiguration("products", config
+                        .entryTtl(Duration.ofMinutes(60))
+                        .serializeValuesWith(
+                                RedisSerializationContext.SerializationPair.fromSerializer(
+                                        new ProductViewRedisSerializer(
+                                                jsonSerializer,
+                                                !"json".equalsIgnoreCase(productValueFormat))
                                 )
-                                .serializeValuesWith(
-                                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                                new GenericJackson2JsonRedisSerializer()
-                                        )
-                                )
-                )
+                        ))
+                // Listing pages: keyed by catalog version, so the TTL only
+                // bounds how long superseded versions occupy memory
+                .withCacheConfiguration("productListings", config
+                        .entryTtl(Duration.ofMinutes(10)))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // Near tier TTL bounds staleness if an invalidation message is missed
+        return new LayeredCacheManager(
+                redisCacheManager,
+                Caffeine.newBuilder()
+                        .maximumSize(nearMaximumSize)
+                        .expireAfterWrite(nearExpireAfterWrite),
+                invalidationBus,
+                new RedisBulkCacheOperations(connectionFactory),
+                refreshAheadEnabled
+                        ? new RefreshAheadPolicy(refreshAheadBeta, minRecomputeTime,
+                                (int) Math.min(nearMaximumSize, Integer.MAX_VALUE), cacheRefreshExecutor)
+                        : null,
+                meterRegistry);
     }
-}
 
+    @Bean
+    @ConditionalOnProperty(name = CACHE_TYPE, havingValue = "redis", matchIfMissing = true)
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus invalidationBus,
+            LayeredCacheManager cacheManager) {
+        return new CacheInvalidationSubscriber(connectionFactory, invalidationBus, cacheManager);
+    }
+}
@@ -1,6 +1,8 @@
 package com.jaypal.oms.bootstrap.exception;
 
+import com.jaypal.oms.order.domain.exception.ConcurrentOrderUpdateException;
 import com.jaypal.oms.shared.kernel.DomainException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -10,6 +12,12 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(ConcurrentOrderUpdateException.class)
+    public ResponseEntity<?> handleConflict(ConcurrentOrderUpdateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(DomainException.class)
     public ResponseEntity<?> handleDomain(DomainException ex) {
         return ResponseEntity.badRequest()
@@ -1,14 +1,13 @@
 package com.jaypal.oms.bootstrap.observability;
 
 import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
-import com.jaypal.oms.order.domain.model.OrderStatus;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Order Saga Health Indicator
@@ -16,18 +15,26 @@ import java.time.temporal.ChronoUnit;
  * Monitors the health of the order saga by detecting stuck orders.
  *
  * Checks:
- * - Orders stuck in PENDING state for > 30 minutes (saga failure)
+ * - Orders stuck in PENDING state for > app.order.sweeper.stuck-after-minutes
+ *   (saga failure; index-backed count on orders(status, created_at))
  * - Overall order pipeline health
  *
+ * Stuck orders are recovered by StuckOrderSweeper, so a DOWN status that
+ * persists across sweeps means recovery itself is failing.
+ *
  * Exposed at: /actuator/health/orderSaga
  */
 @Component("orderSaga")
 public class OrderSagaHealthIndicator implements HealthIndicator {
 
     private final OrderRepositoryPort orderRepository;
+    private final Duration stuckAfter;
 
-    public OrderSagaHealthIndicator(OrderRepositoryPort orderRepository) {
+    public OrderSagaHealthIndicator(
+            OrderRepositoryPort orderRepository,
+            @Value("${app.order.sweeper.stuck-after-minutes:30}") long stuckAfterMinutes) {
         this.orderRepository = orderRepository;
+        this.stuckAfter = Duration.ofMinutes(stuckAfterMinutes);
     }
 
 
@@ -35,10 +42,7 @@ public class OrderSagaHealthIndicator implements HealthIndicator {
     public Health health() {
         try {
             // Check for orders stuck in PENDING state
-            // In production, would use repository method to count stuck orders
-            // For now, assume no stuck orders (repository doesn't have this method yet)
-
-            long stuckOrderCount = 0; // TODO: orderRepository.countStuckPendingOrders(30 minutes ago)
+            long stuckOrderCount = orderRepository.countPendingCreatedBefore(Instant.now().minus(stuckAfter));
 
             if (stuckOrderCount > 5) {
                 return Health.outOfService()
@@ -3,7 +3,12 @@ package com.jaypal.oms.catalog.api;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Catalog API - Port for product queries
@@ -21,6 +26,14 @@ public interface CatalogApi {
      */
     Optional<ProductView> getProduct(String sku);
 
+    /**
+     * Get prices for many SKUs at once (cached, one round-trip per tier)
+     *
+     * @param skus product SKUs (duplicates are ignored)
+     * @return prices keyed by SKU; unknown SKUs are absent from the map
+     */
+    Map<String, BigDecimal> getPrices(Collection<String> skus);
+
     /**
      * List all active products with pagination
      *
@@ -28,4 +41,28 @@ public interface CatalogApi {
      * @return Page of active products
      */
     Page<ProductView> listActiveProducts(Pageable pageable);
+
+    /**
+     * List active products after a SKU, in SKU order (keyset pagination)
+     *
+     * @param afterSku last SKU of the previous page, or null for the first page
+     * @param limit    maximum number of products to return
+     * @return up to {@code limit} active products
+     */
+    List<ProductView> listActiveProductsAfter(String afterSku, int limit);
+
+    /**
+     * Count active products (one count query per call)
+     */
+    long countActiveProducts();
+
+    /**
+     * Pass every active product, in SKU order, to the sink
+     *
+     * Products are read with a database cursor and handed over one at a time;
+     * none are collected, so memory use does not grow with the catalog.
+     *
+     * @param sink receives each active product
+     */
+    void exportActiveProducts(Consumer<ProductView> sink);
 }
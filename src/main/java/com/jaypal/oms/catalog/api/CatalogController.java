@@ -1,15 +1,31 @@
 package com.jaypal.oms.catalog.api;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Catalog REST API Controller
@@ -18,19 +34,33 @@ import java.util.List;
  *
  * Security: No authentication required (public read-only API)
  * - GET /catalog/products/{sku} : public, cached
- * - GET /catalog/products       : public, paginated
+ * - GET /catalog/products       : public, paginated (offset, or keyset with ?cursor=)
+ * - GET /catalog/products/export: public, streamed NDJSON or CSV
  */
 @Slf4j
 @RestController
 @RequestMapping("/catalog/products")
-@RequiredArgsConstructor
 public class CatalogController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = CatalogController.class.getName() + ".exportTimeout";
+
     private final CatalogApi catalogApi;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
+
+    public CatalogController(CatalogApi catalogApi,
+                             ObjectMapper objectMapper,
+                             @Value("${app.catalog.export.timeout:1h}") Duration exportTimeout) {
+        this.catalogApi = catalogApi;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
+    }
 
     // ==================== Get Single Product ====================
     /**
-     * Get a single product by SKU (cached)
+     * Get a single product by SKU (cached by CatalogApi)
      *
      * Security: Public - no authentication required
      *
@@ -38,7 +68,6 @@ public class CatalogController {
      * @return product details or 404
      */
     @GetMapping("/{sku}")
-    @Cacheable(value = "products", key = "#sku")
     public ResponseEntity<ProductView> getProduct(@PathVariable String sku) {
         log.debug("Product lookup requested for SKU: {}", sku);
         return catalogApi.getProduct(sku)
@@ -89,6 +118,148 @@ public class CatalogController {
         return ResponseEntity.ok(response);
     }
 
+    // ==================== List Products with Keyset Pagination ====================
+    /**
+     * List all active products with keyset (cursor) pagination
+     *
+     * Selected by the presence of the cursor parameter; pass an empty cursor
+     * for the first page, then the returned nextCursor until it is null.
+     * Every page costs the same however deep it is, and no count query runs
+     * unless includeTotal is set (request it on the first page only).
+     *
+     * Security: Public - no authentication required
+     *
+     * @param cursor       opaque cursor from the previous page ("" for the first page)
+     * @param size         page size (default: 20, max: 100)
+     * @param includeTotal also count all active products (default: false)
+     * @return product page with the cursor of the next page, or 400 for an invalid cursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> listProductsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        String afterSku;
+        try {
+            afterSku = decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+
+        log.debug("Product listing requested: after={}, size={}", afterSku, pageSize);
+
+        // Fetch one extra row to know whether another page exists
+        List<ProductView> products = catalogApi.listActiveProductsAfter(afterSku, pageSize + 1);
+        boolean hasNext = products.size() > pageSize;
+        List<ProductView> content = hasNext ? products.subList(0, pageSize) : products;
+
+        return ResponseEntity.ok(new CursorPagedResponse<>(
+                content,
+                pageSize,
+                hasNext ? encodeCursor(content.get(content.size() - 1).sku()) : null,
+                includeTotal ? catalogApi.countActiveProducts() : null
+        ));
+    }
+
+    /**
+     * Cursors are the last SKU of the page, base64url-encoded; clients must
+     * treat them as opaque.
+     */
+    private static String encodeCursor(String sku) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sku.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    // ==================== Export Products ====================
+    /**
+     * Export all active products in one streamed response
+     *
+     * Rows are written to the response as they come off the database cursor,
+     * so memory use is constant whatever the catalog size. Meant for search
+     * indexers and sync jobs that need the whole catalog at once.
+     *
+     * The body is written on an MVC async thread, under the async request
+     * timeout. The container default (30s on Tomcat) would cut a full export
+     * off part-way, so this request uses app.catalog.export.timeout instead.
+     *
+     * Security: Public - no authentication required
+     *
+     * @param format "ndjson" (default, one JSON product per line) or "csv"
+     * @return streamed product export, or 400 for an unknown format
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                                                NativeWebRequest request) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.debug("Product export requested: format={}", format);
+        applyExportTimeout(request);
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("sku,name,price,active\n");
+            }
+            catalogApi.exportActiveProducts(product -> {
+                try {
+                    writer.write(csv ? toCsvLine(product) : objectMapper.writeValueAsString(product));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Sets the async timeout of this request only, just before its streaming
+     * starts; other async endpoints keep the default.
+     */
+    private void applyExportTimeout(NativeWebRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        ((AsyncWebRequest) asyncRequest).setTimeout(exportTimeout.toMillis());
+                    }
+                });
+    }
+
+    private static String toCsvLine(ProductView product) {
+        return csvField(product.sku()) + ','
+                + csvField(product.name()) + ','
+                + product.price().toPlainString() + ','
+                + product.active();
+    }
+
+    /**
+     * Quotes a field when it contains a separator, quote or line break (RFC 4180)
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     // ==================== Helper DTO ====================
     /**
      * Wrapper for paginated responses, avoids exposing internal Page fields directly
@@ -99,4 +270,15 @@ public class CatalogController {
             int size,
             long totalElements
     ) {}
+
+    /**
+     * Keyset page: nextCursor is null on the last page, totalElements is null
+     * unless requested
+     */
+    public record CursorPagedResponse<T>(
+            List<T> content,
+            int size,
+            String nextCursor,
+            Long totalElements
+    ) {}
 }
@@ -1,93 +1,255 @@
 package com.jaypal.oms.catalog.application;
 
+import com.jaypal.oms.bootstrap.cache.BulkCache;
 import com.jaypal.oms.catalog.api.CatalogApi;
 import com.jaypal.oms.catalog.api.ProductView;
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
+import com.jaypal.oms.catalog.infrastructure.persistence.ProductJpaEntity;
 import com.jaypal.oms.catalog.infrastructure.persistence.SpringDataProductRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Catalog Service Implementation
  *
- * Implements product queries with Redis caching for individual products.
- * List operations use pagination to limit result sets.
+ * Implements product queries with two-tier caching for individual products
+ * (in-process near cache over Redis, see RedisCacheConfig).
+ * List operations use pagination to limit result sets; listing pages are
+ * cached under the current catalog version, which product writes bump.
  * Cache is evicted when products are updated (future implementation).
  */
 @Service
 @Transactional(readOnly = true)
 public class CatalogServiceImpl implements CatalogApi {
 
+    private static final String PRODUCTS_CACHE = "products";
+    private static final String LISTINGS_CACHE = "productListings";
+
     private final SpringDataProductRepository repository;
+    private final CacheManager cacheManager;
+    private final CatalogVersionPort catalogVersion;
+    private final TransactionTemplate listingTransaction;
 
-    public CatalogServiceImpl(SpringDataProductRepository repository) {
+    public CatalogServiceImpl(SpringDataProductRepository repository,
+                              CacheManager cacheManager,
+                              CatalogVersionPort catalogVersion,
+                              PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.cacheManager = cacheManager;
+        this.catalogVersion = catalogVersion;
+        // Page and count queries of one listing must read the same snapshot
+        this.listingTransaction = new TransactionTemplate(transactionManager);
+        this.listingTransaction.setReadOnly(true);
+        this.listingTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
     }
 
     /**
      * Get a single product by SKU - CACHED for 60 minutes
      *
-     * Redis cache name: "products"
+     * Cache name: "products" (near cache, then Redis)
      * Cache key: the SKU value
+     * Unknown SKUs are not cached (the cache does not store nulls)
+     * Concurrent misses for a SKU share one database load (sync), and hot
+     * SKUs are refreshed in the background before the TTL expires
      *
      * @param sku the product SKU
      * @return Optional containing the product if found
      */
     @Override
-    @Cacheable(value = "products", key = "#sku")
+    @Cacheable(value = "products", key = "#sku", sync = true)
     public Optional<ProductView> getProduct(String sku) {
         return repository.findById(sku)
-                .map(p -> new ProductView(
-                        p.getSku(),
-                        p.getName(),
-                        p.getPrice(),
-                        p.isActive()));
+                .map(this::toView);
+    }
+
+    /**
+     * Get prices for many SKUs - shares the "products" cache with getProduct
+     *
+     * Flow:
+     * 1. Read all SKUs from the cache at once (near tier, then one Redis MGET)
+     * 2. Load the misses with a single WHERE sku IN (...) query, sharing loads
+     *    already in flight for the same SKUs
+     * 3. Write the loaded products back to the cache in one pipelined round-trip
+     *
+     * @param skus product SKUs (duplicates are ignored)
+     * @return prices keyed by SKU; unknown SKUs are absent from the map
+     */
+    @Override
+    public Map<String, BigDecimal> getPrices(Collection<String> skus) {
+        Set<String> distinctSkus = new LinkedHashSet<>(skus);
+        Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+        Map<?, ?> views = cache == null
+                ? loadProducts(distinctSkus)
+                : BulkCache.getAll(cache, distinctSkus, this::loadProducts);
+
+        Map<String, BigDecimal> prices = new HashMap<>();
+        views.forEach((sku, view) -> prices.put((String) sku, ((ProductView) view).price()));
+        return prices;
     }
 
     /**
-     * List all active products with pagination
+     * List all active products with pagination - CACHED per catalog version
      *
-     * No caching on list operations to ensure consistency with database state.
-     * Results are limited by Pageable to prevent large result sets.
+     * Cache name: "productListings"
+     * Cache key: v{catalog version}:p{page}:{size}
+     * A product write bumps the catalog version, so pages cached before it
+     * are never read again and expire with their TTL. A cache hit does not
+     * touch the database; a miss runs the page and count queries in one
+     * read-only, repeatable-read transaction, so the total matches the page.
      *
      * @param pageable pagination parameters (default size: 20)
      * @return Page of active products sorted by SKU
      */
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ProductView> listActiveProducts(Pageable pageable) {
-        return repository.findByActive(true, pageable)
-                .map(p -> new ProductView(
-                        p.getSku(),
-                        p.getName(),
-                        p.getPrice(),
-                        p.isActive()));
+        ProductListing listing = cachedListing(
+                "p" + pageable.getPageNumber() + ":" + pageable.getPageSize(),
+                () -> {
+                    Page<ProductView> page = repository.findByActive(true, pageable).map(this::toView);
+                    return new ProductListing(page.getContent(), page.getTotalElements());
+                });
+        return new PageImpl<>(listing.content(), pageable, listing.totalElements());
+    }
+
+    /**
+     * List active products after a SKU with keyset pagination
+     *
+     * Walks the SKU index from the cursor: no OFFSET and no count query,
+     * so deep pages cost the same as the first. Not cached: a sync client
+     * walking the catalog reads each cursor page once, so caching them would
+     * only push the storefront pages out of the listing cache.
+     *
+     * @param afterSku last SKU of the previous page, or null for the first page
+     * @param limit    maximum number of products to return
+     * @return up to {@code limit} active products in SKU order
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ProductView> listActiveProductsAfter(String afterSku, int limit) {
+        String after = afterSku == null ? "" : afterSku;
+        return repository.findByActiveAfter(true, after, PageRequest.of(0, limit)).stream()
+                .map(this::toView)
+                .toList();
+    }
+
+    /**
+     * Count active products - CACHED per catalog version (key: v{catalog version}:count)
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public long countActiveProducts() {
+        return cachedListing("count", () -> new ProductListing(List.of(), repository.countByActive(true)))
+                .totalElements();
+    }
+
+    /**
+     * Stream all active products to the sink
+     *
+     * Runs in the read-only transaction the database cursor needs, which
+     * stays open until the last product has been consumed. Not cached.
+     *
+     * @param sink receives each active product in SKU order
+     */
+    @Override
+    public void exportActiveProducts(Consumer<ProductView> sink) {
+        try (Stream<ProductView> products = repository.streamByActive(true)) {
+            products.forEach(sink);
+        }
     }
 
     /**
      * Clear product cache for a specific SKU
      *
-     * Called when a product is updated. Future implementation will
-     * trigger this via domain events.
+     * Called when a product is updated. Also drops the entry from the
+     * near cache of every node (Redis pub/sub) and moves the catalog to a
+     * new version, invalidating every cached listing page. Called inside the
+     * product write's transaction, the version moves only once it commits, so
+     * a listing cannot be re-cached from the old rows under the new version.
+     * Future implementation will trigger this via domain events.
      *
      * @param sku the product SKU
      */
     @CacheEvict(value = "products", key = "#sku")
     public void evictProductCache(String sku) {
-        // Cache eviction is handled by annotation
+        bumpCatalogVersionAfterCommit();
     }
 
     /**
      * Clear all product cache entries
      *
      * Heavy operation - use sparingly. Called during bulk product updates.
+     * Clears the near cache of every node as well, and invalidates every
+     * cached listing page (after the surrounding transaction commits).
      */
     @CacheEvict(value = "products", allEntries = true)
     public void evictAllProductCache() {
-        // Cache eviction is handled by annotation
+        bumpCatalogVersionAfterCommit();
+    }
+
+    private void bumpCatalogVersionAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalogVersion.bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalogVersion.bump();
+            }
+        });
+    }
+
+    private ProductListing cachedListing(String key, Supplier<ProductListing> query) {
+        Supplier<ProductListing> loader = () -> listingTransaction.execute(status -> query.get());
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(LISTINGS_CACHE);
+        if (cache == null) {
+            return loader.get();
+        }
+        return cache.get("v" + catalogVersion.current() + ":" + key, loader::get);
+    }
+
+    private Map<String, ProductView> loadProducts(Set<?> skus) {
+        Set<String> ids = skus.stream()
+                .map(String.class::cast)
+                .collect(Collectors.toSet());
+        return repository.findAllById(ids).stream()
+                .map(this::toView)
+                .collect(Collectors.toMap(ProductView::sku, view -> view));
+    }
+
+    private ProductView toView(ProductJpaEntity p) {
+        return new ProductView(
+                p.getSku(),
+                p.getName(),
+                p.getPrice(),
+                p.isActive());
     }
 }
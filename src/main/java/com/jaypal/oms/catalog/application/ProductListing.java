@@ -0,0 +1,23 @@
+package com.jaypal.oms.catalog.application;
+
+import com.jaypal.oms.catalog.api.ProductView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached page of the active-product listing.
+ *
+ * Stored in the "productListings" cache instead of a Page, which the JSON
+ * cache serializer cannot read back. Content is kept in an ArrayList for
+ * the same reason.
+ *
+ * @param content       products of the page, in SKU order
+ * @param totalElements number of active products, or -1 when not counted
+ */
+public record ProductListing(List<ProductView> content, long totalElements) {
+
+    public ProductListing {
+        content = new ArrayList<>(content);
+    }
+}
@@ -0,0 +1,23 @@
+package com.jaypal.oms.catalog.application.port.out;
+
+/**
+ * Port for the global catalog version.
+ *
+ * The version is part of every cached listing key, so bumping it after a
+ * product write invalidates all listing pages at once without touching any
+ * cache entry; entries cached under older versions simply expire.
+ */
+public interface CatalogVersionPort {
+
+    /**
+     * @return the current catalog version
+     */
+    long current();
+
+    /**
+     * Moves the catalog to a new version after products changed.
+     *
+     * @return the new version
+     */
+    long bump();
+}
@@ -0,0 +1,24 @@
+package com.jaypal.oms.catalog.infrastructure.cache;
+
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local catalog version, for cache types that are node-local as well
+ * (e.g. simple in dev and tests).
+ */
+public class InMemoryCatalogVersion implements CatalogVersionPort {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long current() {
+        return version.get();
+    }
+
+    @Override
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
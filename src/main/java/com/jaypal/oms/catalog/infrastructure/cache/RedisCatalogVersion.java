@@ -0,0 +1,33 @@
+package com.jaypal.oms.catalog.infrastructure.cache;
+
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Catalog version shared by every node, kept in a Redis counter.
+ *
+ * Reads are a single GET and bumps a single INCR, so invalidating all
+ * listing pages costs one round-trip whatever is cached.
+ */
+public class RedisCatalogVersion implements CatalogVersionPort {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+
+    public RedisCatalogVersion(StringRedisTemplate redisTemplate, String key) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+    }
+
+    @Override
+    public long current() {
+        String value = redisTemplate.opsForValue().get(key);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public long bump() {
+        Long version = redisTemplate.opsForValue().increment(key);
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,32 @@
+package com.jaypal.oms.catalog.infrastructure.config;
+
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
+import com.jaypal.oms.catalog.infrastructure.cache.InMemoryCatalogVersion;
+import com.jaypal.oms.catalog.infrastructure.cache.RedisCatalogVersion;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Catalog Module Configuration
+ *
+ * Configures the catalog version that keys the listing cache: a shared Redis
+ * counter (app.catalog.version-key) when spring.cache.type is redis (the
+ * default), a node-local counter for node-local cache types.
+ */
+@Configuration
+public class CatalogModuleConfig {
+
+    @Bean
+    CatalogVersionPort catalogVersionPort(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${spring.cache.type:redis}") String cacheType,
+            @Value("${app.catalog.version-key:oms:catalog:version}") String versionKey) {
+        if ("redis".equalsIgnoreCase(cacheType)) {
+            return new RedisCatalogVersion(redisTemplate.getObject(), versionKey);
+        }
+        return new InMemoryCatalogVersion();
+    }
+}
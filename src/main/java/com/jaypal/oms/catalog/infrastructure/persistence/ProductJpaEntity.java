@@ -11,13 +11,14 @@ import java.math.BigDecimal;
  * Product JPA Entity
  *
  * Represents a product in the catalog with basic information.
- * Indexes are defined on commonly queried columns (active, sku).
+ * Indexes are defined on commonly queried columns (active, sku); the
+ * (active, sku) index serves the keyset scan of the product listing.
  */
 @Entity
 @Table(
     name = "products",
     indexes = {
-        @Index(name = "idx_product_active", columnList = "active", unique = false),
+        @Index(name = "idx_product_active_sku", columnList = "active, sku", unique = false),
         @Index(name = "idx_product_sku", columnList = "sku", unique = true)
     }
 )
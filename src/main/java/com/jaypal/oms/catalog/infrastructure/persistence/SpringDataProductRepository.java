@@ -1,9 +1,16 @@
 package com.jaypal.oms.catalog.infrastructure.persistence;
 
+import com.jaypal.oms.catalog.api.ProductView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA Repository for Product persistence
@@ -24,4 +31,37 @@ public interface SpringDataProductRepository extends JpaRepository<ProductJpaEnt
      */
     @Query("SELECT p FROM ProductJpaEntity p WHERE p.active = :active ORDER BY p.sku ASC")
     Page<ProductJpaEntity> findByActive(boolean active, Pageable pageable);
+
+    /**
+     * Find active products with a SKU after the given one (keyset pagination)
+     *
+     * Seeks on the primary key instead of skipping rows with OFFSET, so every
+     * page costs the same however deep it is. Returns a List: no count query.
+     *
+     * @param afterSku last SKU of the previous page ("" for the first page)
+     * @param page     only the page size is used; keep the page number at 0
+     */
+    @Query("SELECT p FROM ProductJpaEntity p WHERE p.active = :active AND p.sku > :afterSku ORDER BY p.sku ASC")
+    List<ProductJpaEntity> findByActiveAfter(boolean active, String afterSku, Pageable page);
+
+    long countByActive(boolean active);
+
+    /**
+     * Stream all products with the given active flag, in SKU order
+     *
+     * Forward-only cursor: rows are fetched 500 at a time and mapped straight
+     * to ProductView, so nothing is added to the persistence context however
+     * large the catalog is. Must be consumed and closed inside a transaction.
+     *
+     * @param active filter by active status
+     * @return the products, to be closed by the caller
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.jaypal.oms.catalog.api.ProductView(p.sku, p.name, p.price, p.active)
+            FROM ProductJpaEntity p
+            WHERE p.active = :active
+            ORDER BY p.sku ASC
+            """)
+    Stream<ProductView> streamByActive(boolean active);
 }
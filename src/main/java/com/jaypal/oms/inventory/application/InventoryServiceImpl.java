@@ -1,11 +1,10 @@
 package com.jaypal.oms.inventory.application;
 
 import com.jaypal.oms.inventory.api.InventoryApi;
-import com.jaypal.oms.inventory.infrastructure.persistence.InventoryJpaEntity;
-import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataInventoryRepository;
+import com.jaypal.oms.inventory.application.usecase.ReleaseStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReserveStockUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.UUID;
@@ -14,43 +13,32 @@ import java.util.UUID;
 @Slf4j
 public class InventoryServiceImpl implements InventoryApi {
 
-    private final SpringDataInventoryRepository repository;
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final ReleaseStockUseCase releaseStockUseCase;
 
-    public InventoryServiceImpl(SpringDataInventoryRepository repository) {
-        this.repository = repository;
+    public InventoryServiceImpl(ReserveStockUseCase reserveStockUseCase,
+                                ReleaseStockUseCase releaseStockUseCase) {
+        this.reserveStockUseCase = reserveStockUseCase;
+        this.releaseStockUseCase = releaseStockUseCase;
     }
 
+    /**
+     * Delegates to the configured reservation strategy, so the API and the
+     * order saga reserve stock the same way.
+     */
     @Override
-    @Transactional
     public void reserveStock(UUID orderId, Map<String, Integer> skuQuantities) {
         log.info("Reserving stock for order: {}", orderId);
-
-        // Deadlock prevention: Sort Lock Order
-        skuQuantities.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String sku = entry.getKey();
-                    int requestedQty = entry.getValue();
-
-                    InventoryJpaEntity item = repository.findBySku(sku)
-                            .orElseThrow(() -> new RuntimeException("SKU not found: " + sku));
-
-                    if (item.getAvailableStock() < requestedQty) {
-                        throw new RuntimeException("Insufficient stock for SKU: " + sku);
-                    }
-
-                    item.setAvailableStock(item.getAvailableStock() - requestedQty);
-                    item.setReservedStock(item.getReservedStock() + requestedQty);
-                    repository.save(item);
-                });
-
+        reserveStockUseCase.reserve(orderId, skuQuantities);
         log.info("Stock reserved successfully for order: {}", orderId);
     }
 
+    /**
+     * Releases whatever the reservation ledger says the order holds; a no-op if nothing.
+     */
     @Override
-    @Transactional
     public void releaseStock(UUID orderId) {
         log.info("Releasing stock for order: {}", orderId);
-        log.warn("Release stock not implemented without Reservation table tracking.");
+        releaseStockUseCase.release(orderId);
     }
 }
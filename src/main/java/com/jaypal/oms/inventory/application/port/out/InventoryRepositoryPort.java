@@ -2,7 +2,9 @@ package com.jaypal.oms.inventory.application.port.out;
 
 import com.jaypal.oms.inventory.domain.model.InventoryItem;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.SortedMap;
 
 /**
  * Port for inventory persistence.
@@ -12,4 +14,40 @@ public interface InventoryRepositoryPort {
     Optional<InventoryItem> findBySku(String sku);
 
     void save(InventoryItem inventoryItem);
+
+    /**
+     * Loads many items in one round-trip.
+     *
+     * @return items keyed and sorted by SKU; unknown SKUs are absent
+     */
+    SortedMap<String, InventoryItem> findAllBySkus(Collection<String> skus);
+
+    /**
+     * Writes back many items loaded in the current transaction, batched into as
+     * few statements as the store allows, with the same version checks as {@link #save}.
+     */
+    void saveAll(Collection<InventoryItem> inventoryItems);
+
+    /**
+     * Atomically moves {@code quantity} units from available to reserved stock,
+     * but only if at least that much is available.
+     *
+     * Done in a single conditional write without loading the item, so concurrent
+     * reservations on the same SKU queue on the row lock instead of failing
+     * optimistic version checks.
+     *
+     * @return true if reserved; false if the SKU is unknown or stock is insufficient
+     */
+    boolean reserveIfAvailable(String sku, int quantity);
+
+    /**
+     * Atomically moves {@code quantity} units from reserved back to available
+     * stock, but only if at least that much is reserved.
+     *
+     * The release counterpart of {@link #reserveIfAvailable}: one conditional
+     * write, no version check, so releases never retry on a hot SKU.
+     *
+     * @return true if released; false if the SKU is unknown or reserved stock is insufficient
+     */
+    boolean releaseIfReserved(String sku, int quantity);
 }
@@ -0,0 +1,44 @@
+package com.jaypal.oms.inventory.application.port.out;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Port for the stock reservation ledger: what each order holds, per SKU.
+ *
+ * Written in the same transaction as the stock change it records, so the
+ * ledger and inventory levels always agree.
+ */
+public interface StockReservationLedgerPort {
+
+    /**
+     * Records the reservations of an order. Holds expire after the configured
+     * reservation timeout.
+     */
+    void record(UUID orderId, Map<String, Integer> skuQuantities);
+
+    boolean hasReservations(UUID orderId);
+
+    /**
+     * Returns an order's reservations, locking them until the transaction ends
+     * so that concurrent releases of the same order serialize.
+     *
+     * @return quantities keyed and sorted by SKU; empty if nothing is held
+     */
+    SortedMap<String, Integer> lockByOrderId(UUID orderId);
+
+    void deleteByOrderId(UUID orderId);
+
+    /**
+     * Stops an order's reservations from expiring (the order was confirmed).
+     */
+    void retain(UUID orderId);
+
+    /**
+     * @return up to {@code limit} orders holding reservations that expired before {@code now}
+     */
+    List<UUID> findExpiredOrderIds(Instant now, int limit);
+}
@@ -0,0 +1,73 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Release Stock Use Case - atomic conditional-update strategy
+ *
+ * Releases each SKU with a single conditional UPDATE instead of
+ * read-modify-write, so a release on a hot SKU waits on the row lock rather
+ * than failing the version check and retrying.
+ *
+ * Process:
+ * 1. Lock the order's lines in the reservation ledger (what it actually holds)
+ * 2. For each SKU (sorted, same lock order as reservation) increment available /
+ *    decrement reserved where reserved >= quantity
+ * 3. If any SKU cannot be released, throw; the transaction rolls back the
+ *    SKUs already released for this order
+ * 4. Delete the ledger lines (same transaction)
+ *
+ * Selected with app.inventory.reservation-strategy=atomic.
+ */
+@Slf4j
+public class AtomicReleaseStockUseCase extends ReleaseStockUseCase {
+
+    public AtomicReleaseStockUseCase(InventoryRepositoryPort inventoryRepositoryPort,
+                                     StockReservationLedgerPort reservationLedger) {
+        super(inventoryRepositoryPort, reservationLedger);
+    }
+
+    /**
+     * Release all stock reserved by an order
+     *
+     * @param orderId unique order identifier
+     * @throws IllegalArgumentException if SKU not found in inventory
+     * @throws IllegalStateException if reserved stock is less than release amount
+     */
+    @Override
+    @Transactional
+    public void release(UUID orderId) {
+        // Concurrent releases of the same order wait here, then find nothing left
+        SortedMap<String, Integer> skuQuantities = reservationLedger.lockByOrderId(orderId);
+
+        if (skuQuantities.isEmpty()) {
+            log.info("No stock held by order: {} (never reserved or already released)", orderId);
+            return;
+        }
+
+        log.info("Attempting atomic stock release for order: {} with {} SKUs",
+                orderId, skuQuantities.size());
+
+        skuQuantities.forEach((sku, quantity) -> {
+            if (!inventoryRepositoryPort.releaseIfReserved(sku, quantity)) {
+                // Only the failure path pays for a read, to report the right cause
+                if (inventoryRepositoryPort.findBySku(sku).isEmpty()) {
+                    throw new IllegalArgumentException("Inventory not found for SKU: " + sku);
+                }
+                throw new IllegalStateException("Reserved stock is less than release amount for SKU: " + sku);
+            }
+
+            log.debug("Atomically released {} units of SKU {} from order {}", quantity, sku, orderId);
+        });
+
+        reservationLedger.deleteByOrderId(orderId);
+
+        log.info("Stock release completed successfully for order: {}", orderId);
+    }
+}
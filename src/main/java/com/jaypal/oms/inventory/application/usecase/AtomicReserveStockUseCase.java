@@ -0,0 +1,82 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import com.jaypal.oms.inventory.domain.exception.InsufficientStockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reserve Stock Use Case - atomic conditional-update strategy
+ *
+ * Reserves each SKU with a single conditional UPDATE instead of
+ * read-modify-write. Concurrent reservations on a hot SKU wait briefly on the
+ * row lock rather than colliding on the version and backing off, so there is
+ * nothing to retry.
+ *
+ * Process:
+ * 1. For each SKU (sorted, to keep lock order consistent and avoid deadlocks)
+ *    decrement available / increment reserved where available >= quantity
+ * 2. If any SKU cannot be reserved, throw; the transaction rolls back the
+ *    SKUs already reserved for this order
+ * 3. Record what the order holds in the reservation ledger (same transaction)
+ *
+ * Selected with app.inventory.reservation-strategy=atomic.
+ */
+@Slf4j
+public class AtomicReserveStockUseCase extends ReserveStockUseCase {
+
+    public AtomicReserveStockUseCase(InventoryRepositoryPort inventoryRepositoryPort,
+                                     StockReservationLedgerPort reservationLedger) {
+        super(inventoryRepositoryPort, reservationLedger);
+    }
+
+    /**
+     * Reserve stock for an order
+     *
+     * @param orderId unique order identifier
+     * @param skuQuantities map of SKU to quantity to reserve
+     * @throws IllegalArgumentException if a quantity is not positive or a SKU is not in inventory
+     * @throws InsufficientStockException if stock unavailable
+     */
+    @Override
+    @Transactional
+    public void reserve(UUID orderId, Map<String, Integer> skuQuantities) {
+        log.info("Attempting atomic stock reservation for order: {} with {} SKUs",
+                orderId, skuQuantities.size());
+
+        if (skuQuantities.isEmpty() || alreadyReserved(orderId)) {
+            return;
+        }
+
+        skuQuantities.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    String sku = entry.getKey();
+                    int quantity = entry.getValue();
+
+                    if (quantity <= 0) {
+                        throw new IllegalArgumentException(
+                                "Reservation quantity must be positive for SKU: " + sku);
+                    }
+
+                    if (!inventoryRepositoryPort.reserveIfAvailable(sku, quantity)) {
+                        // Only the failure path pays for a read, to report the right cause
+                        if (inventoryRepositoryPort.findBySku(sku).isEmpty()) {
+                            throw new IllegalArgumentException("Inventory not found for SKU: " + sku);
+                        }
+                        throw new InsufficientStockException("Insufficient stock for SKU: " + sku);
+                    }
+
+                    log.debug("Atomically reserved {} units of SKU {} for order {}",
+                            quantity, sku, orderId);
+                });
+
+        reservationLedger.record(orderId, skuQuantities);
+
+        log.info("Stock reservation completed successfully for order: {}", orderId);
+    }
+}
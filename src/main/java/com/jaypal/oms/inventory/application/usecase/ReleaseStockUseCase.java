@@ -1,6 +1,7 @@
 package com.jaypal.oms.inventory.application.usecase;
 
 import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
 import com.jaypal.oms.inventory.domain.model.InventoryItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +9,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.util.SortedMap;
 import java.util.UUID;
 
 /**
@@ -18,9 +19,13 @@ import java.util.UUID;
  * Handles concurrent modifications using optimistic locking with automatic retry.
  *
  * Process:
- * 1. Load inventory items for all SKUs in the order
- * 2. Release reserved stock (increase available, decrease reserved)
- * 3. Persist changes
+ * 1. Lock the order's lines in the reservation ledger (what it actually holds)
+ * 2. Load inventory items for those SKUs (one IN query, sorted by SKU)
+ * 3. Release reserved stock (increase available, decrease reserved)
+ * 4. Persist all changes together (one JDBC batch) and delete the ledger lines
+ *
+ * Idempotency: releasing an order that holds nothing (never reserved, or
+ * already released) is a no-op, so cancellation and timeout can both release.
  *
  * On OptimisticLockException (concurrent modification):
  * - Automatically retries up to 3 times
@@ -31,13 +36,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ReleaseStockUseCase {
 
-    private final InventoryRepositoryPort inventoryRepositoryPort;
+    protected final InventoryRepositoryPort inventoryRepositoryPort;
+    protected final StockReservationLedgerPort reservationLedger;
 
     /**
-     * Release reserved stock for a cancelled order
+     * Release all stock reserved by an order
      *
      * @param orderId unique order identifier
-     * @param skuQuantities map of SKU to quantity to release
      * @throws IllegalArgumentException if SKU not found in inventory
      * @throws IllegalStateException if reserved stock is less than release amount
      * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if conflicts exceed retry limit
@@ -48,39 +53,40 @@ public class ReleaseStockUseCase {
             maxAttempts = 3,
             backoff = @Backoff(delay = 100, multiplier = 2.0, random = true)
     )
-    public void release(UUID orderId, Map<String, Integer> skuQuantities) {
-        log.info("Attempting stock release for cancelled order: {} with {} SKUs",
-                orderId, skuQuantities.size());
+    public void release(UUID orderId) {
+        // Concurrent releases of the same order wait here, then find nothing left
+        SortedMap<String, Integer> skuQuantities = reservationLedger.lockByOrderId(orderId);
 
-        // Release stock for each SKU in sorted order to prevent deadlocks
-        skuQuantities.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String sku = entry.getKey();
-                    int quantity = entry.getValue();
+        if (skuQuantities.isEmpty()) {
+            log.info("No stock held by order: {} (never reserved or already released)", orderId);
+            return;
+        }
+
+        log.info("Attempting stock release for order: {} with {} SKUs",
+                orderId, skuQuantities.size());
 
-                    log.debug("Releasing {} units of SKU {} from order {}",
-                            quantity, sku, orderId);
+        // Load every SKU in one round-trip
+        SortedMap<String, InventoryItem> inventory =
+                inventoryRepositoryPort.findAllBySkus(skuQuantities.keySet());
 
-                    // Load inventory (may throw OptimisticLockException if concurrent modification)
-                    InventoryItem inventory = inventoryRepositoryPort.findBySku(sku)
-                            .orElseThrow(() ->
-                                    new IllegalArgumentException(
-                                            "Inventory not found for SKU: " + sku
-                                    )
-                            );
+        // Release in sorted order so updates always lock rows in the same order
+        skuQuantities.forEach((sku, quantity) -> {
+            log.debug("Releasing {} units of SKU {} from order {}", quantity, sku, orderId);
 
-                    // Release stock (may throw IllegalStateException if reserved < quantity)
-                    inventory.release(quantity);
+            InventoryItem item = inventory.get(sku);
+            if (item == null) {
+                throw new IllegalArgumentException("Inventory not found for SKU: " + sku);
+            }
 
-                    // Save changes (optimistic lock version incremented)
-                    inventoryRepositoryPort.save(inventory);
+            // Release stock (may throw IllegalStateException if reserved < quantity)
+            item.release(quantity);
+        });
 
-                    log.debug("Successfully released {} units of SKU {} from order {}",
-                            quantity, sku, orderId);
-                });
+        // Save all changes in one batch (optimistic lock versions incremented)
+        inventoryRepositoryPort.saveAll(inventory.values());
+        reservationLedger.deleteByOrderId(orderId);
 
-        log.info("Stock release completed successfully for cancelled order: {}", orderId);
+        log.info("Stock release completed successfully for order: {}", orderId);
     }
 }
 
@@ -0,0 +1,52 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reservation Expiry Use Case
+ *
+ * Stock reserved for an order is held for at most
+ * app.inventory.reservation-timeout-hours unless the order gets confirmed.
+ * A confirmed order's holds stay in the ledger until they are released.
+ *
+ * Flow:
+ * 1. Saga confirms an order → retain() keeps its holds past the timeout
+ * 2. Stuck-order sweeper calls findExpired() for holds past the timeout
+ * 3. Sweeper releases them (or retains them if the order turned out confirmed)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationExpiryUseCase {
+
+    private final StockReservationLedgerPort reservationLedger;
+    private final Clock clock;
+
+    /**
+     * Keep an order's reservations until they are released explicitly
+     *
+     * @param orderId confirmed order
+     */
+    @Transactional
+    public void retain(UUID orderId) {
+        reservationLedger.retain(orderId);
+        log.debug("Reservations retained for confirmed order: {}", orderId);
+    }
+
+    /**
+     * Find orders whose reservations have expired
+     *
+     * @param limit maximum number of order ids to return
+     * @return up to {@code limit} order ids
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findExpired(int limit) {
+        return reservationLedger.findExpiredOrderIds(clock.instant(), limit);
+    }
+}
@@ -1,6 +1,7 @@
 package com.jaypal.oms.inventory.application.usecase;
 
 import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
 import com.jaypal.oms.inventory.domain.model.InventoryItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,8 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -18,10 +21,13 @@ import java.util.UUID;
  * Handles concurrent reservations using optimistic locking with automatic retry.
  *
  * Process:
- * 1. Load inventory items for all SKUs in the order
+ * 1. Load inventory items for all SKUs in the order (one IN query, sorted by SKU)
  * 2. Verify sufficient stock available for each SKU
  * 3. Reserve stock (reduce available, increase reserved)
- * 4. Persist changes
+ * 4. Persist all changes together (one JDBC batch)
+ * 5. Record what the order holds in the reservation ledger (same transaction)
+ *
+ * Idempotency: an order that already holds reservations is not reserved again.
  *
  * On OptimisticLockException (concurrent modification):
  * - Automatically retries up to 3 times
@@ -32,7 +38,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ReserveStockUseCase {
 
-    private final InventoryRepositoryPort inventoryRepositoryPort;
+    protected final InventoryRepositoryPort inventoryRepositoryPort;
+    protected final StockReservationLedgerPort reservationLedger;
 
     /**
      * Reserve stock for an order
@@ -53,36 +60,44 @@ public class ReserveStockUseCase {
         log.info("Attempting stock reservation for order: {} with {} SKUs",
                 orderId, skuQuantities.size());
 
-        // Reserve stock for each SKU in sorted order to prevent deadlocks
-        skuQuantities.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String sku = entry.getKey();
-                    int quantity = entry.getValue();
+        if (skuQuantities.isEmpty() || alreadyReserved(orderId)) {
+            return;
+        }
 
-                    log.debug("Reserving {} units of SKU {} for order {}",
-                            quantity, sku, orderId);
+        // Load every SKU in one round-trip
+        SortedMap<String, InventoryItem> inventory =
+                inventoryRepositoryPort.findAllBySkus(skuQuantities.keySet());
 
-                    // Load inventory (may throw OptimisticLockException if concurrent modification)
-                    InventoryItem inventory = inventoryRepositoryPort.findBySku(sku)
-                            .orElseThrow(() ->
-                                    new IllegalArgumentException(
-                                            "Inventory not found for SKU: " + sku
-                                    )
-                            );
+        // Reserve in sorted order so updates always lock rows in the same order
+        new TreeMap<>(skuQuantities).forEach((sku, quantity) -> {
+            log.debug("Reserving {} units of SKU {} for order {}", quantity, sku, orderId);
 
-                    // Reserve stock (may throw InsufficientStockException)
-                    inventory.reserve(quantity);
+            InventoryItem item = inventory.get(sku);
+            if (item == null) {
+                throw new IllegalArgumentException("Inventory not found for SKU: " + sku);
+            }
 
-                    // Save changes (optimistic lock version incremented)
-                    inventoryRepositoryPort.save(inventory);
+            // Reserve stock (may throw InsufficientStockException)
+            item.reserve(quantity);
+        });
 
-                    log.debug("Successfully reserved {} units of SKU {} for order {}",
-                            quantity, sku, orderId);
-                });
+        // Save all changes in one batch (optimistic lock versions incremented)
+        inventoryRepositoryPort.saveAll(inventory.values());
+        reservationLedger.record(orderId, skuQuantities);
 
         log.info("Stock reservation completed successfully for order: {}", orderId);
     }
+
+    /**
+     * Redelivered OrderPlacedEvents must not reserve twice.
+     */
+    protected boolean alreadyReserved(UUID orderId) {
+        if (reservationLedger.hasReservations(orderId)) {
+            log.info("Stock already reserved for order: {}, skipping", orderId);
+            return true;
+        }
+        return false;
+    }
 }
 
 
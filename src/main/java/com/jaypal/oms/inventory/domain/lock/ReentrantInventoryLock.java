@@ -0,0 +1,22 @@
+package com.jaypal.oms.inventory.domain.lock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lock over a slice of in-memory inventory state.
+ * Only one thread at a time may read or modify the guarded state.
+ */
+public class ReentrantInventoryLock implements InventoryLock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public void lock() {
+        lock.lock();
+    }
+
+    @Override
+    public void unlock() {
+        lock.unlock();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jaypal.oms.inventory.infrastructure.config;
+
+/**
+ * Where inventory state lives (app.inventory.engine).
+ */
+public enum InventoryEngine {
+
+    /**
+     * Every read and write goes to the inventory table.
+     */
+    JPA,
+
+    /**
+     * State held in memory, striped by SKU, with periodic write-behind to the
+     * inventory table. See InMemoryInventoryEngine for crash semantics.
+     */
+    IN_MEMORY
+}
@@ -1,22 +1,39 @@
 package com.jaypal.oms.inventory.infrastructure.config;
 
 import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import com.jaypal.oms.inventory.application.usecase.AtomicReleaseStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.AtomicReserveStockUseCase;
 import com.jaypal.oms.inventory.application.usecase.ReleaseStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReservationExpiryUseCase;
 import com.jaypal.oms.inventory.application.usecase.ReserveStockUseCase;
+import com.jaypal.oms.inventory.infrastructure.memory.InMemoryInventoryEngine;
 import com.jaypal.oms.inventory.infrastructure.persistence.InventoryRepositoryAdapter;
 import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataInventoryRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataStockReservationRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.StockReservationLedgerAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Inventory Module Configuration
  *
  * Configures the Inventory module with:
  * - Spring Retry for automatic retry on OptimisticLockException
  * - Repository adapter for persistence
+ * - Reservation ledger; holds expire after app.inventory.reservation-timeout-hours
  * - Use case beans for stock operations
+ * - Storage engine (app.inventory.engine): jpa (default) or in-memory with write-behind (single instance only)
+ * - Reservation strategy (app.inventory.reservation-strategy): optimistic (default) or atomic
  */
 @Configuration
 @EnableRetry // Enable @Retryable processing for use cases
@@ -24,23 +41,56 @@ public class InventoryModuleConfig {
 
     @Bean
     InventoryRepositoryPort inventoryRepositoryPort(
-            SpringDataInventoryRepository repository) {
-        return new InventoryRepositoryAdapter(repository);
+            SpringDataInventoryRepository repository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.inventory.engine:jpa}") InventoryEngine engine,
+            @Value("${app.inventory.in-memory.stripes:64}") int stripes) {
+        InventoryRepositoryAdapter jpaAdapter = new InventoryRepositoryAdapter(repository);
+        return switch (engine) {
+            case JPA -> jpaAdapter;
+            case IN_MEMORY -> new InMemoryInventoryEngine(
+                    jpaAdapter, jdbcTemplate, transactionManager, meterRegistry, stripes);
+        };
+    }
+
+    @Bean
+    StockReservationLedgerPort stockReservationLedgerPort(
+            SpringDataStockReservationRepository repository,
+            @Value("${app.inventory.reservation-timeout-hours:24}") long reservationTimeoutHours,
+            Clock clock) {
+        return new StockReservationLedgerAdapter(repository, Duration.ofHours(reservationTimeoutHours), clock);
     }
 
     @Bean
     @Transactional
     ReserveStockUseCase reserveStockUseCase(
-            InventoryRepositoryPort inventoryRepositoryPort) {
-        return new ReserveStockUseCase(inventoryRepositoryPort);
+            InventoryRepositoryPort inventoryRepositoryPort,
+            StockReservationLedgerPort reservationLedger,
+            @Value("${app.inventory.reservation-strategy:optimistic}") ReservationStrategy strategy) {
+        return switch (strategy) {
+            case OPTIMISTIC -> new ReserveStockUseCase(inventoryRepositoryPort, reservationLedger);
+            case ATOMIC -> new AtomicReserveStockUseCase(inventoryRepositoryPort, reservationLedger);
+        };
     }
 
     @Bean
     @Transactional
     ReleaseStockUseCase releaseStockUseCase(
-            InventoryRepositoryPort inventoryRepositoryPort) {
-        return new ReleaseStockUseCase(inventoryRepositoryPort);
+            InventoryRepositoryPort inventoryRepositoryPort,
+            StockReservationLedgerPort reservationLedger,
+            @Value("${app.inventory.reservation-strategy:optimistic}") ReservationStrategy strategy) {
+        return switch (strategy) {
+            case OPTIMISTIC -> new ReleaseStockUseCase(inventoryRepositoryPort, reservationLedger);
+            case ATOMIC -> new AtomicReleaseStockUseCase(inventoryRepositoryPort, reservationLedger);
+        };
     }
-}
-
 
+    @Bean
+    ReservationExpiryUseCase reservationExpiryUseCase(
+            StockReservationLedgerPort reservationLedger,
+            Clock clock) {
+        return new ReservationExpiryUseCase(reservationLedger, clock);
+    }
+}
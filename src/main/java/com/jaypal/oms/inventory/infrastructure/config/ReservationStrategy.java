@@ -0,0 +1,18 @@
+package com.jaypal.oms.inventory.infrastructure.config;
+
+/**
+ * How stock reservations are written (app.inventory.reservation-strategy).
+ */
+public enum ReservationStrategy {
+
+    /**
+     * Load, reserve in the domain model, save; @Version conflicts are retried with backoff.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Single conditional UPDATE per SKU; no version conflicts, no retries.
+     * Preferable for hot SKUs under heavy contention.
+     */
+    ATOMIC
+}
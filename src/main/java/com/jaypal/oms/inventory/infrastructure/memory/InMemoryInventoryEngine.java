@@ -0,0 +1,444 @@
+package com.jaypal.oms.inventory.infrastructure.memory;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.domain.lock.InventoryLock;
+import com.jaypal.oms.inventory.domain.lock.ReentrantInventoryLock;
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import com.jaypal.oms.inventory.domain.model.StockLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * In-Memory Inventory Engine
+ *
+ * Keeps inventory state in memory, striped by SKU across shards. Each shard is
+ * guarded by its own {@link InventoryLock}, so there is a single writer per
+ * shard and reservations on different shards never contend. A reservation is
+ * a few field updates under a lock: no database round-trip.
+ *
+ * Persistence is write-behind: every change is also added to a per-SKU net
+ * delta, and {@link #flush()} periodically writes all pending deltas to the
+ * inventory table in one JDBC batch (available_stock = available_stock + ?),
+ * in one transaction. A failed flush keeps its deltas for the next attempt.
+ *
+ * Transactions: only committed changes are queued for flush. Inside a
+ * transaction, a change that takes stock out of available (a reservation) is
+ * applied to memory at once, so no one else can take the same units, and is
+ * undone if the transaction rolls back; a change that returns stock to
+ * available (a release) becomes visible only after commit, so no one can
+ * reserve units that a rollback would take back.
+ *
+ * Optimistic locking: items returned by {@link #findBySku} carry the in-memory
+ * version they were read at; saving a stale item throws
+ * ObjectOptimisticLockingFailureException, like the JPA adapter.
+ *
+ * Recovery: a SKU is loaded on first access from its inventory row, with its
+ * reserved quantity recomputed from the stock_reservations ledger. The ledger
+ * is written in the reserving/releasing transaction itself, so it is durable
+ * even when the delta has not been flushed yet: after a crash, reservations
+ * and releases made since the last flush are recovered from it, and the
+ * difference is queued as a correction for the next flush. A graceful
+ * shutdown flushes first.
+ *
+ * Single node only: the engine owns the inventory rows. Running it on more than
+ * one instance, or writing the table out-of-band, lets instances hand out the
+ * same stock; use the jpa engine when the service is scaled out.
+ *
+ * Enabled with app.inventory.engine=in-memory. Pair with
+ * app.inventory.reservation-strategy=atomic so hot SKUs never hit version retries.
+ *
+ * Metrics:
+ * - inventory.memory.flush (timer): write-behind flush duration
+ * - inventory.memory.flushed (counter): SKU deltas written
+ * - inventory.memory.flush.failures (counter): failed flushes (deltas retained)
+ * - inventory.memory.reconciled (counter): SKUs loaded whose row disagreed with the ledger
+ */
+@Slf4j
+public class InMemoryInventoryEngine implements InventoryRepositoryPort {
+
+    private static final String FLUSH_SQL = """
+            UPDATE inventory
+            SET available_stock = available_stock + ?,
+                reserved_stock = reserved_stock + ?,
+                version = version + 1
+            WHERE sku = ?
+            """;
+
+    private static final String LEDGER_SQL =
+            "SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE sku = ?";
+
+    private final InventoryRepositoryPort store;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryLock[] locks;
+    private final List<Map<String, Slot>> shards;
+
+    private final Timer flushTimer;
+    private final Counter flushedDeltas;
+    private final Counter flushFailures;
+    private final Counter reconciled;
+
+    /**
+     * @param store persistent inventory, used to load SKUs on first access and for new items
+     * @param stripes number of shards (rounded to a power of two)
+     */
+    public InMemoryInventoryEngine(
+            InventoryRepositoryPort store,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int stripes) {
+        this.store = store;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int shardCount = 1;
+        while (shardCount < stripes) {
+            shardCount <<= 1;
+        }
+        this.locks = new InventoryLock[shardCount];
+        this.shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            locks[i] = new ReentrantInventoryLock();
+            shards.add(new HashMap<>());
+        }
+
+        this.flushTimer = Timer.builder("inventory.memory.flush")
+                .description("Write-behind flush of in-memory inventory deltas")
+                .register(meterRegistry);
+        this.flushedDeltas = Counter.builder("inventory.memory.flushed")
+                .description("SKU deltas written by write-behind flushes")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("inventory.memory.flush.failures")
+                .description("Failed write-behind flushes; deltas are retried")
+                .register(meterRegistry);
+        this.reconciled = Counter.builder("inventory.memory.reconciled")
+                .description("SKUs whose reserved stock was corrected from the reservation ledger on load")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<InventoryItem> findBySku(String sku) {
+        int shard = shardOf(sku);
+        locks[shard].lock();
+        try {
+            Slot slot = slot(shard, sku);
+            return slot == null ? Optional.empty() : Optional.of(slot.snapshot(sku));
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public void save(InventoryItem inventoryItem) {
+        String sku = inventoryItem.getSku();
+        int shard = shardOf(sku);
+        locks[shard].lock();
+        try {
+            Slot slot = slot(shard, sku);
+            if (slot == null) {
+                // New SKU: write through, then serve it from memory
+                store.save(inventoryItem);
+                shards.get(shard).put(sku, new Slot(
+                        inventoryItem.getAvailableStock().getQuantity(),
+                        inventoryItem.getReservedStock().getQuantity()));
+                return;
+            }
+            if (inventoryItem instanceof VersionedInventoryItem read && read.version != slot.version) {
+                throw new ObjectOptimisticLockingFailureException(InventoryItem.class, sku);
+            }
+            apply(sku, slot,
+                    inventoryItem.getAvailableStock().getQuantity() - slot.available,
+                    inventoryItem.getReservedStock().getQuantity() - slot.reserved);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public SortedMap<String, InventoryItem> findAllBySkus(Collection<String> skus) {
+        SortedMap<String, InventoryItem> items = new TreeMap<>();
+        skus.forEach(sku -> findBySku(sku).ifPresent(item -> items.put(sku, item)));
+        return items;
+    }
+
+    @Override
+    public void saveAll(Collection<InventoryItem> inventoryItems) {
+        inventoryItems.forEach(this::save);
+    }
+
+    @Override
+    public boolean reserveIfAvailable(String sku, int quantity) {
+        int shard = shardOf(sku);
+        locks[shard].lock();
+        try {
+            Slot slot = slot(shard, sku);
+            if (slot == null || slot.available < quantity) {
+                return false;
+            }
+            apply(sku, slot, -quantity, quantity);
+            return true;
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public boolean releaseIfReserved(String sku, int quantity) {
+        int shard = shardOf(sku);
+        locks[shard].lock();
+        try {
+            Slot slot = slot(shard, sku);
+            if (slot == null || slot.reserved < quantity) {
+                return false;
+            }
+            apply(sku, slot, quantity, -quantity);
+            return true;
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    /**
+     * Writes all pending deltas to the database in one batch.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.in-memory.flush-interval-ms:200}")
+    public void flush() {
+        List<Object[]> batch = drainPending();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch)));
+            flushedDeltas.increment(batch.size());
+            log.debug("Flushed {} inventory deltas", batch.size());
+        } catch (DataAccessException e) {
+            flushFailures.increment();
+            log.error("Inventory flush failed, retaining {} deltas: {}", batch.size(), e.getMessage());
+            batch.forEach(row -> restorePending((String) row[2], (int) row[0], (int) row[1]));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private int shardOf(String sku) {
+        int h = sku.hashCode();
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+
+    /**
+     * Returns the slot for a SKU, loading it from the database on first access.
+     * Caller must hold the shard lock.
+     */
+    private Slot slot(int shard, String sku) {
+        Map<String, Slot> slots = shards.get(shard);
+        Slot slot = slots.get(sku);
+        if (slot == null) {
+            slot = store.findBySku(sku).map(item -> load(sku, item)).orElse(null);
+            if (slot != null) {
+                slots.put(sku, slot);
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Builds a slot from the inventory row, taking the reserved quantity from
+     * the ledger: deltas lost in a crash leave the row behind the ledger.
+     */
+    private Slot load(String sku, InventoryItem item) {
+        int available = item.getAvailableStock().getQuantity();
+        int reserved = item.getReservedStock().getQuantity();
+        int held = jdbcTemplate.queryForObject(LEDGER_SQL, Integer.class, sku);
+
+        int correction = reserved - held;
+        Slot slot = new Slot(available + correction, held);
+        if (correction != 0) {
+            // Write the correction back with the next flush
+            slot.addPending(correction, -correction);
+            reconciled.increment();
+            log.warn("Inventory row for SKU {} had {} reserved, ledger holds {}; corrected",
+                    sku, reserved, held);
+        }
+        return slot;
+    }
+
+    /**
+     * Applies a change to a slot and queues it for flush; inside a transaction
+     * this is deferred (see class doc). Caller must hold the shard lock.
+     */
+    private void apply(String sku, Slot slot, int availableDelta, int reservedDelta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slot.add(availableDelta, reservedDelta);
+            slot.addPending(availableDelta, reservedDelta);
+            return;
+        }
+        TransactionLog txLog = (TransactionLog) TransactionSynchronizationManager.getResource(this);
+        if (txLog == null) {
+            txLog = new TransactionLog();
+            TransactionSynchronizationManager.bindResource(this, txLog);
+            TransactionSynchronizationManager.registerSynchronization(txLog);
+        }
+        // Holds take effect now; stock returned to available waits for commit
+        boolean applied = availableDelta <= 0;
+        if (applied) {
+            slot.add(availableDelta, reservedDelta);
+        }
+        txLog.changes.add(new Change(sku, availableDelta, reservedDelta, applied));
+    }
+
+    private List<Object[]> drainPending() {
+        List<Object[]> batch = new ArrayList<>();
+        for (int shard = 0; shard < locks.length; shard++) {
+            locks[shard].lock();
+            try {
+                shards.get(shard).forEach((sku, slot) -> {
+                    if (slot.pendingAvailable != 0 || slot.pendingReserved != 0) {
+                        batch.add(new Object[]{slot.pendingAvailable, slot.pendingReserved, sku});
+                        slot.pendingAvailable = 0;
+                        slot.pendingReserved = 0;
+                    }
+                });
+            } finally {
+                locks[shard].unlock();
+            }
+        }
+        return batch;
+    }
+
+    private void restorePending(String sku, int availableDelta, int reservedDelta) {
+        int shard = shardOf(sku);
+        locks[shard].lock();
+        try {
+            Slot slot = shards.get(shard).get(sku);
+            slot.pendingAvailable += availableDelta;
+            slot.pendingReserved += reservedDelta;
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    private void commit(Change change) {
+        int shard = shardOf(change.sku());
+        locks[shard].lock();
+        try {
+            Slot slot = shards.get(shard).get(change.sku());
+            if (!change.applied()) {
+                slot.add(change.availableDelta(), change.reservedDelta());
+            }
+            slot.addPending(change.availableDelta(), change.reservedDelta());
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    private void undo(Change change) {
+        if (!change.applied()) {
+            return;
+        }
+        int shard = shardOf(change.sku());
+        locks[shard].lock();
+        try {
+            shards.get(shard).get(change.sku()).add(-change.availableDelta(), -change.reservedDelta());
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    /**
+     * Current in-memory state of one SKU plus its not-yet-flushed net delta.
+     * Guarded by the shard lock.
+     */
+    private static final class Slot {
+        private int available;
+        private int reserved;
+        private long version;
+        private int pendingAvailable;
+        private int pendingReserved;
+
+        private Slot(int available, int reserved) {
+            this.available = available;
+            this.reserved = reserved;
+        }
+
+        private void add(int availableDelta, int reservedDelta) {
+            available += availableDelta;
+            reserved += reservedDelta;
+            version++;
+        }
+
+        private void addPending(int availableDelta, int reservedDelta) {
+            pendingAvailable += availableDelta;
+            pendingReserved += reservedDelta;
+        }
+
+        private InventoryItem snapshot(String sku) {
+            VersionedInventoryItem item = new VersionedInventoryItem(sku, available, version);
+            item.setReservedStock(new StockLevel(reserved));
+            return item;
+        }
+    }
+
+    /**
+     * Detached copy of a slot, remembering the version it was read at.
+     */
+    private static final class VersionedInventoryItem extends InventoryItem {
+        private final long version;
+
+        private VersionedInventoryItem(String sku, int available, long version) {
+            super(sku, new StockLevel(available));
+            this.version = version;
+        }
+    }
+
+    /**
+     * @param applied whether the change is already visible in the slot
+     */
+    private record Change(String sku, int availableDelta, int reservedDelta, boolean applied) {
+    }
+
+    /**
+     * Changes made in the current transaction: queued for flush if it commits,
+     * reverted otherwise.
+     */
+    private final class TransactionLog implements TransactionSynchronization {
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryInventoryEngine.this);
+            if (status == STATUS_COMMITTED) {
+                changes.forEach(InMemoryInventoryEngine.this::commit);
+                return;
+            }
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                undo(changes.get(i));
+            }
+            log.debug("Reverted {} in-memory inventory changes after rollback", changes.size());
+        }
+    }
+}
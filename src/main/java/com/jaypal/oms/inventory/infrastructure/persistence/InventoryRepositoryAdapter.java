@@ -4,7 +4,11 @@ import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
 import com.jaypal.oms.inventory.domain.model.InventoryItem;
 import com.jaypal.oms.inventory.domain.model.StockLevel;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Inventory Repository Adapter
@@ -26,10 +30,48 @@ public class InventoryRepositoryAdapter implements InventoryRepositoryPort {
                 .map(this::toDomain);
     }
 
+    /**
+     * Writes stock levels onto the entity loaded earlier in the transaction, so the
+     * optimistic version check compares against the version that was actually read.
+     * (Merging a fresh entity would always carry version 0 and fail after the first update.)
+     */
     @Override
     public void save(InventoryItem inventoryItem) {
-        InventoryJpaEntity entity = toEntity(inventoryItem);
-        repository.save(entity);
+        repository.save(toManagedEntity(inventoryItem));
+    }
+
+    @Override
+    public SortedMap<String, InventoryItem> findAllBySkus(Collection<String> skus) {
+        SortedMap<String, InventoryItem> items = new TreeMap<>();
+        if (skus.isEmpty()) {
+            return items;
+        }
+        repository.findAllBySkuInOrderBySku(skus)
+                .forEach(entity -> items.put(entity.getSku(), toDomain(entity)));
+        return items;
+    }
+
+    /**
+     * The entities were loaded in this transaction, so the lookups are served by the
+     * persistence context and the updates are flushed together as one JDBC batch
+     * (in SKU order, per hibernate.order_updates).
+     */
+    @Override
+    public void saveAll(Collection<InventoryItem> inventoryItems) {
+        List<InventoryJpaEntity> entities = inventoryItems.stream()
+                .map(this::toManagedEntity)
+                .toList();
+        repository.saveAll(entities);
+    }
+
+    @Override
+    public boolean reserveIfAvailable(String sku, int quantity) {
+        return repository.reserveIfAvailable(sku, quantity) == 1;
+    }
+
+    @Override
+    public boolean releaseIfReserved(String sku, int quantity) {
+        return repository.releaseIfReserved(sku, quantity) == 1;
     }
 
     /**
@@ -57,6 +99,16 @@ public class InventoryRepositoryAdapter implements InventoryRepositoryPort {
         return item;
     }
 
+    private InventoryJpaEntity toManagedEntity(InventoryItem item) {
+        return repository.findById(item.getSku())
+                .map(existing -> {
+                    existing.setAvailableStock(item.getAvailableStock().getQuantity());
+                    existing.setReservedStock(item.getReservedStock().getQuantity());
+                    return existing;
+                })
+                .orElseGet(() -> toEntity(item));
+    }
+
     private InventoryJpaEntity toEntity(InventoryItem item) {
         return new InventoryJpaEntity(
                 item.getSku(),
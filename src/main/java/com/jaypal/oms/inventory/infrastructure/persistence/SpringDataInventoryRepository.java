@@ -1,7 +1,12 @@
 package com.jaypal.oms.inventory.infrastructure.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +32,46 @@ public interface SpringDataInventoryRepository extends JpaRepository<InventoryJp
 
     @Override
     Optional<InventoryJpaEntity> findById(String sku);
+
+    /**
+     * Loads many SKUs with a single IN query, in SKU order.
+     */
+    List<InventoryJpaEntity> findAllBySkuInOrderBySku(Collection<String> skus);
+
+    /**
+     * Conditional reservation in a single UPDATE.
+     *
+     * The WHERE clause enforces available_stock >= quantity, so stock can never go
+     * negative however many reservations race. The version is bumped so that
+     * concurrent read-modify-write updates still detect the change.
+     *
+     * @return 1 if reserved, 0 if the SKU is unknown or stock is insufficient
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE InventoryJpaEntity i
+            SET i.availableStock = i.availableStock - :quantity,
+                i.reservedStock = i.reservedStock + :quantity,
+                i.version = i.version + 1
+            WHERE i.sku = :sku AND i.availableStock >= :quantity
+            """)
+    int reserveIfAvailable(String sku, int quantity);
+
+    /**
+     * Conditionally releases stock in a single UPDATE: moves {@code quantity}
+     * from reserved to available only when at least that much is reserved.
+     *
+     * @return 1 if released, 0 if the SKU is unknown or reserved stock is insufficient
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE InventoryJpaEntity i
+            SET i.availableStock = i.availableStock + :quantity,
+                i.reservedStock = i.reservedStock - :quantity,
+                i.version = i.version + 1
+            WHERE i.sku = :sku AND i.reservedStock >= :quantity
+            """)
+    int releaseIfReserved(String sku, int quantity);
 }
@@ -0,0 +1,39 @@
+package com.jaypal.oms.inventory.infrastructure.persistence;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface SpringDataStockReservationRepository
+        extends JpaRepository<StockReservationJpaEntity, StockReservationJpaEntity.Key> {
+
+    boolean existsByOrderId(UUID orderId);
+
+    /**
+     * SELECT ... FOR UPDATE on an order's ledger lines; a concurrent release of
+     * the same order waits here and then finds the lines already gone.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<StockReservationJpaEntity> findAllByOrderIdOrderBySku(UUID orderId);
+
+    @Modifying
+    @Query("DELETE FROM StockReservationJpaEntity r WHERE r.orderId = :orderId")
+    int deleteByOrderId(UUID orderId);
+
+    @Modifying
+    @Query("UPDATE StockReservationJpaEntity r SET r.expiresAt = null WHERE r.orderId = :orderId")
+    int clearExpiry(UUID orderId);
+
+    /**
+     * Range scan on idx_stock_reservations_expires_at.
+     */
+    @Query("SELECT DISTINCT r.orderId FROM StockReservationJpaEntity r WHERE r.expiresAt < :now")
+    List<UUID> findExpiredOrderIds(Instant now, Pageable page);
+}
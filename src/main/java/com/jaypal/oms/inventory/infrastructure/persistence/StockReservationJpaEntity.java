@@ -0,0 +1,121 @@
+package com.jaypal.oms.inventory.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One ledger line: quantity of a SKU held by an order.
+ *
+ * The primary key (order_id, sku) also serves lookups by order id;
+ * expires_at is indexed for expiry scans and is null once the order is
+ * confirmed (the hold no longer expires).
+ */
+@Entity
+@Table(name = "stock_reservations",
+        indexes = @Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at"))
+@IdClass(StockReservationJpaEntity.Key.class)
+public class StockReservationJpaEntity implements Persistable<StockReservationJpaEntity.Key> {
+
+    @Id
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @Id
+    @Column(name = "sku", nullable = false, updatable = false)
+    private String sku;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    @Column(name = "reserved_at", nullable = false)
+    private Instant reservedAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    /**
+     * Keys are assigned by the application; rows built here are always inserts,
+     * so skip the merge SELECT Spring Data would otherwise issue.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    protected StockReservationJpaEntity() {
+    }
+
+    public StockReservationJpaEntity(UUID orderId, String sku, int quantity,
+                                     Instant reservedAt, Instant expiresAt) {
+        this.orderId = orderId;
+        this.sku = sku;
+        this.quantity = quantity;
+        this.reservedAt = reservedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(orderId, sku);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Instant getReservedAt() {
+        return reservedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public static class Key implements Serializable {
+        private UUID orderId;
+        private String sku;
+
+        protected Key() {
+        }
+
+        public Key(UUID orderId, String sku) {
+            this.orderId = orderId;
+            this.sku = sku;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return orderId.equals(that.orderId) && sku.equals(that.sku);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orderId, sku);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jaypal.oms.inventory.infrastructure.persistence;
+
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Stock Reservation Ledger Adapter
+ *
+ * Stores the ledger in the stock_reservations table. Reservations of one order
+ * are inserted as a single JDBC batch.
+ */
+public class StockReservationLedgerAdapter implements StockReservationLedgerPort {
+
+    private final SpringDataStockReservationRepository repository;
+    private final Duration reservationTimeout;
+    private final Clock clock;
+
+    public StockReservationLedgerAdapter(SpringDataStockReservationRepository repository,
+                                         Duration reservationTimeout,
+                                         Clock clock) {
+        this.repository = repository;
+        this.reservationTimeout = reservationTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public void record(UUID orderId, Map<String, Integer> skuQuantities) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(reservationTimeout);
+        repository.saveAll(skuQuantities.entrySet().stream()
+                .map(e -> new StockReservationJpaEntity(orderId, e.getKey(), e.getValue(), now, expiresAt))
+                .toList());
+    }
+
+    @Override
+    public boolean hasReservations(UUID orderId) {
+        return repository.existsByOrderId(orderId);
+    }
+
+    @Override
+    public SortedMap<String, Integer> lockByOrderId(UUID orderId) {
+        SortedMap<String, Integer> reserved = new TreeMap<>();
+        repository.findAllByOrderIdOrderBySku(orderId)
+                .forEach(line -> reserved.put(line.getSku(), line.getQuantity()));
+        return reserved;
+    }
+
+    @Override
+    public void deleteByOrderId(UUID orderId) {
+        repository.deleteByOrderId(orderId);
+    }
+
+    @Override
+    public void retain(UUID orderId) {
+        repository.clearExpiry(orderId);
+    }
+
+    @Override
+    public List<UUID> findExpiredOrderIds(Instant now, int limit) {
+        return repository.findExpiredOrderIds(now, PageRequest.of(0, limit));
+    }
+}
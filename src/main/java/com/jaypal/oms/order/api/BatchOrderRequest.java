@@ -0,0 +1,12 @@
+package com.jaypal.oms.order.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchOrderRequest(
+        @NotEmpty(message = "Orders cannot be empty")
+        @Size(max = 1000, message = "At most 1000 orders per batch")
+        List<@Valid OrderRequest> orders) {
+}
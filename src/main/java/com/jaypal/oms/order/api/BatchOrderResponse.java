@@ -0,0 +1,20 @@
+package com.jaypal.oms.order.api;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchOrderResponse(
+        int placed,
+        int rejected,
+        List<Result> results
+) {
+
+    /**
+     * Outcome for the order at {@code index} in the request.
+     */
+    public record Result(
+            int index,
+            UUID orderId,
+            String error
+    ) {}
+}
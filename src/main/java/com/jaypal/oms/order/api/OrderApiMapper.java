@@ -1,5 +1,6 @@
 package com.jaypal.oms.order.api;
 
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderSummary;
 import com.jaypal.oms.order.domain.model.Order;
 
 public class OrderApiMapper {
@@ -9,13 +10,24 @@ public class OrderApiMapper {
                 order.getOrderId(),
                 order.getStatus().name(),
                 order.getCreatedAt(),
+                order.getSubtotal(),
                 order.getItems().stream()
                         .map(i -> new OrderItemResponse(
                                 i.getSku(),
                                 i.getQuantity(),
-                                i.getUnitPrice()
+                                i.getUnitPrice(),
+                                i.totalPrice()
                         ))
                         .toList()
         );
     }
+
+    public static OrderSummaryResponse toSummaryResponse(OrderSummary summary) {
+        return new OrderSummaryResponse(
+                summary.orderId(),
+                summary.status().name(),
+                summary.subtotal(),
+                summary.createdAt()
+        );
+    }
 }
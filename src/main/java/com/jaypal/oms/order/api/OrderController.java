@@ -1,10 +1,17 @@
 package com.jaypal.oms.order.api;
 
 import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.in.PlaceOrderResult;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderSummary;
+import com.jaypal.oms.order.application.usecase.AwaitOrderOutcomeUseCase;
 import com.jaypal.oms.order.application.usecase.CancelOrderUseCase;
 import com.jaypal.oms.order.application.usecase.GetOrderUseCase;
+import com.jaypal.oms.order.application.usecase.IdempotentPlaceOrderUseCase;
+import com.jaypal.oms.order.application.usecase.ListOrdersUseCase;
 import com.jaypal.oms.order.application.usecase.PlaceOrderUseCase;
 import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -13,8 +20,16 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Order REST API Controller
@@ -22,7 +37,10 @@ import java.util.UUID;
  * Endpoints for order management with role-based access control.
  *
  * Security:
- * - /orders POST (place order): Requires ROLE_USER
+ * - /orders POST (place order, optionally awaiting the outcome): Requires ROLE_USER
+ * - /orders/batch POST (place many orders): Requires ROLE_USER
+ * - /orders GET (browse orders): Requires ROLE_ADMIN
+ * - /orders/mine GET (own order history): Requires ROLE_USER
  * - /orders/{id} GET (view order): Requires ROLE_USER
  * - /orders/{id}/cancel POST (cancel order): Requires ROLE_ADMIN or ROLE_USER (owner)
  */
@@ -32,32 +50,210 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final long MAX_AWAIT_MILLIS = 10_000;
+
     private final PlaceOrderUseCase placeOrderUseCase;
     private final CancelOrderUseCase cancelOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
+    private final ListOrdersUseCase listOrdersUseCase;
+    private final IdempotentPlaceOrderUseCase idempotentPlaceOrderUseCase;
+    private final AwaitOrderOutcomeUseCase awaitOrderOutcomeUseCase;
 
     /**
      * Place a new order
      *
+     * The order is recorded as placed by the caller (JWT subject).
+     *
+     * With an Idempotency-Key header, retries of the same request return the
+     * order placed by the first one (same 201 body) instead of placing another.
+     * Keys are per user.
+     *
      * Security: Requires ROLE_USER
-     * @param request order items with quantities
-     * @return orderId for tracking
+     * @param request        order items with quantities
+     * @param idempotencyKey client-chosen key for this request (optional, max 255 chars)
+     * @return orderId for tracking, or 400 for an invalid idempotency key
      */
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<?> placeOrder(
             @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
 
         log.info("Order placement requested by user: {}", authentication.getName());
 
-        UUID orderId = placeOrderUseCase.placeOrder(
-                new PlaceOrderCommand(request.items()));
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return invalidIdempotencyKey();
+        }
+        UUID orderId = place(request, idempotencyKey, authentication);
 
         log.info("Order placed successfully: {} by user: {}", orderId, authentication.getName());
         return ResponseEntity.status(201).body(Map.of("orderId", orderId));
     }
 
+    /**
+     * Place a new order and wait for the saga to confirm or cancel it
+     *
+     * Same as {@link #placeOrder}, but answers once stock reservation has
+     * settled instead of immediately, so clients need not poll GET /orders/{id}.
+     * The request is handled asynchronously; no server thread waits.
+     *
+     * Security: Requires ROLE_USER
+     * @param awaitMillis how long to wait for the outcome (1 to 10000 ms)
+     * @return 201 with orderId and CONFIRMED or CANCELLED status; 202 with
+     *         orderId and PENDING status if the saga did not finish in time;
+     *         400 for an invalid await or idempotency key
+     */
+    @PostMapping(params = "await")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public CompletableFuture<ResponseEntity<?>> placeOrderAndAwait(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestParam("await") long awaitMillis,
+            Authentication authentication) {
+
+        log.info("Order placement (await {} ms) requested by user: {}", awaitMillis, authentication.getName());
+
+        if (awaitMillis < 1 || awaitMillis > MAX_AWAIT_MILLIS) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error",
+                    "await must be between 1 and " + MAX_AWAIT_MILLIS + " ms")));
+        }
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return CompletableFuture.completedFuture(invalidIdempotencyKey());
+        }
+        UUID orderId = place(request, idempotencyKey, authentication);
+
+        return awaitOrderOutcomeUseCase.awaitOutcome(orderId, Duration.ofMillis(awaitMillis))
+                .thenApply(status -> {
+                    log.info("Order placed: {} ({}) by user: {}", orderId, status, authentication.getName());
+                    Map<String, Object> body = Map.of("orderId", orderId, "status", status);
+                    return status == OrderStatus.PENDING
+                            ? ResponseEntity.accepted().body(body)
+                            : ResponseEntity.status(201).body(body);
+                });
+    }
+
+    /**
+     * Place many orders in one request
+     *
+     * Intended for marketplace integrations pushing orders in bulk.
+     * Each order succeeds or is rejected on its own; see the per-order results.
+     *
+     * Security: Requires ROLE_USER
+     * @param request the orders to place (max 1000)
+     * @return one result per order, in request order
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<?> placeOrders(
+            @Valid @RequestBody BatchOrderRequest request,
+            Authentication authentication) {
+
+        log.info("Batch placement of {} orders requested by user: {}",
+                request.orders().size(), authentication.getName());
+
+        List<PlaceOrderResult> outcomes = placeOrderUseCase.placeOrders(
+                request.orders().stream()
+                        .map(o -> new PlaceOrderCommand(authentication.getName(), o.items()))
+                        .toList());
+
+        List<BatchOrderResponse.Result> results = new ArrayList<>(outcomes.size());
+        int placed = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            PlaceOrderResult outcome = outcomes.get(i);
+            if (outcome.isPlaced()) {
+                placed++;
+            }
+            results.add(new BatchOrderResponse.Result(i, outcome.orderId(), outcome.error()));
+        }
+
+        log.info("Batch placed: {} accepted, {} rejected by user: {}",
+                placed, outcomes.size() - placed, authentication.getName());
+        return ResponseEntity.ok(new BatchOrderResponse(placed, outcomes.size() - placed, results));
+    }
+
+    /**
+     * Browse orders, newest first, with keyset (cursor) pagination
+     *
+     * Intended for support tooling. Returns order headers only (no items);
+     * pass the returned nextCursor to get the next page until it is null.
+     *
+     * Security: Requires ROLE_ADMIN
+     * @param status only orders in this status (optional)
+     * @param from   only orders created at or after this ISO-8601 instant (optional)
+     * @param to     only orders created before this ISO-8601 instant (optional)
+     * @param cursor opaque cursor from the previous page (optional)
+     * @param size   page size (default: 20, max: 100)
+     * @return order page, or 400 for an invalid filter or cursor
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> listOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        OrderStatus statusFilter;
+        Instant fromFilter;
+        Instant toFilter;
+        OrderKey before;
+        try {
+            statusFilter = status == null ? null : OrderStatus.valueOf(status.toUpperCase());
+            fromFilter = from == null ? null : Instant.parse(from);
+            toFilter = to == null ? null : Instant.parse(to);
+            before = cursor == null ? null : decodeCursor(cursor);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid filter or cursor"));
+        }
+
+        log.debug("Order listing requested: status={}, from={}, to={}, size={} by user: {}",
+                statusFilter, fromFilter, toFilter, pageSize, authentication.getName());
+
+        // Fetch one extra row to know whether another page exists
+        List<OrderSummary> orders = listOrdersUseCase.listOrders(
+                statusFilter, fromFilter, toFilter, before, pageSize + 1);
+        return ResponseEntity.ok(toPage(orders, pageSize));
+    }
+
+    /**
+     * List the caller's own orders, newest first, with keyset (cursor) pagination
+     *
+     * Returns order headers only (no items); pass the returned nextCursor to
+     * get the next page until it is null.
+     *
+     * Security: Requires ROLE_USER
+     * @param cursor opaque cursor from the previous page (optional)
+     * @param size   page size (default: 20, max: 100)
+     * @return order page, or 400 for an invalid cursor
+     */
+    @GetMapping("/mine")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<?> listMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        OrderKey before;
+        try {
+            before = cursor == null ? null : decodeCursor(cursor);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+
+        log.debug("Order history requested by user: {}", authentication.getName());
+
+        List<OrderSummary> orders = listOrdersUseCase.listCustomerOrders(
+                authentication.getName(), before, pageSize + 1);
+        return ResponseEntity.ok(toPage(orders, pageSize));
+    }
+
     /**
      * Get order details
      *
@@ -80,21 +276,76 @@ public class OrderController {
     /**
      * Cancel an existing order
      *
-     * Security: Requires ROLE_ADMIN or ROLE_USER (own order)
+     * Security: Requires ROLE_ADMIN or ROLE_USER (own order); a user
+     * cancelling someone else's order gets the same answer as for an
+     * unknown order
      * @param orderId the order to cancel
      * @return 204 No Content
      */
     @PostMapping("/{orderId}/cancel")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<?> cancelOrder(
             @PathVariable UUID orderId,
             Authentication authentication) {
 
         log.info("Order cancellation requested for order: {} by user: {}", orderId, authentication.getName());
 
-        cancelOrderUseCase.cancelOrder(orderId);
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (admin) {
+            cancelOrderUseCase.cancelOrder(orderId);
+        } else {
+            cancelOrderUseCase.cancelOrder(orderId, authentication.getName());
+        }
 
         log.info("Order cancelled successfully: {} by user: {}", orderId, authentication.getName());
         return ResponseEntity.noContent().build();
     }
+
+    private UUID place(OrderRequest request, String idempotencyKey, Authentication authentication) {
+        PlaceOrderCommand command = new PlaceOrderCommand(authentication.getName(), request.items());
+        return idempotencyKey == null
+                ? placeOrderUseCase.placeOrder(command)
+                : idempotentPlaceOrderUseCase.placeOrder(command, idempotencyKey);
+    }
+
+    private static boolean isValidIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey == null
+                || (!idempotencyKey.isBlank() && idempotencyKey.length() <= MAX_IDEMPOTENCY_KEY_LENGTH);
+    }
+
+    private static ResponseEntity<?> invalidIdempotencyKey() {
+        return ResponseEntity.badRequest().body(Map.of("error",
+                IDEMPOTENCY_KEY_HEADER + " must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+    }
+
+    private static OrderPageResponse toPage(List<OrderSummary> orders, int pageSize) {
+        boolean hasNext = orders.size() > pageSize;
+        List<OrderSummary> content = hasNext ? orders.subList(0, pageSize) : orders;
+        return new OrderPageResponse(
+                content.stream().map(OrderApiMapper::toSummaryResponse).toList(),
+                pageSize,
+                hasNext ? encodeCursor(content.get(content.size() - 1).key()) : null);
+    }
+
+    /**
+     * Cursors are the (createdAt, orderId) of the last order of the page,
+     * base64url-encoded; clients must treat them as opaque.
+     */
+    private static String encodeCursor(OrderKey key) {
+        String raw = key.createdAt() + "|" + key.orderId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderKey decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new OrderKey(
+                UUID.fromString(raw.substring(separator + 1)),
+                Instant.parse(raw.substring(0, separator)));
+    }
 }
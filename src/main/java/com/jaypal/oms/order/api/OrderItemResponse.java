@@ -5,5 +5,6 @@ import java.math.BigDecimal;
 public record OrderItemResponse(
         String sku,
         int quantity,
-        BigDecimal unitPrice
+        BigDecimal unitPrice,
+        BigDecimal lineTotal
 ) {}
@@ -0,0 +1,12 @@
+package com.jaypal.oms.order.api;
+
+import java.util.List;
+
+/**
+ * Keyset page of orders; nextCursor is null on the last page.
+ */
+public record OrderPageResponse(
+        List<OrderSummaryResponse> content,
+        int size,
+        String nextCursor
+) {}
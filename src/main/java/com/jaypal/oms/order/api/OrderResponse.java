@@ -1,5 +1,6 @@
 package com.jaypal.oms.order.api;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -8,5 +9,6 @@ public record OrderResponse(
         UUID orderId,
         String status,
         Instant createdAt,
+        BigDecimal subtotal,
         List<OrderItemResponse> items
 ) {}
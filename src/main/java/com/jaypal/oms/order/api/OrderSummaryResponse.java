@@ -0,0 +1,12 @@
+package com.jaypal.oms.order.api;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrderSummaryResponse(
+        UUID orderId,
+        String status,
+        BigDecimal subtotal,
+        Instant createdAt
+) {}
@@ -0,0 +1,70 @@
+package com.jaypal.oms.order.application;
+
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory handles for callers waiting on the outcome of an order's saga.
+ *
+ * The saga or a customer cancellation completes a handle once the order is
+ * confirmed or cancelled; if no
+ * one is waiting that is a map lookup and nothing else. Handles are local to
+ * the node: a saga step that runs on another node leaves the waiter to time
+ * out.
+ */
+public class OrderCompletionRegistry {
+
+    private final ConcurrentMap<UUID, CompletableFuture<OrderStatus>> handles = new ConcurrentHashMap<>();
+
+    /**
+     * @return the handle for {@code orderId}, shared by everyone waiting on it
+     */
+    public CompletableFuture<OrderStatus> register(UUID orderId) {
+        return handles.computeIfAbsent(orderId, id -> new CompletableFuture<>());
+    }
+
+    /**
+     * Removes a handle nobody waits on anymore, unless it has been replaced.
+     */
+    public void unregister(UUID orderId, CompletableFuture<OrderStatus> handle) {
+        handles.remove(orderId, handle);
+    }
+
+    /**
+     * Completes and removes the handle for {@code orderId}, if any.
+     */
+    public void complete(UUID orderId, OrderStatus status) {
+        CompletableFuture<OrderStatus> handle = handles.remove(orderId);
+        if (handle != null) {
+            handle.complete(status);
+        }
+    }
+
+    /**
+     * Completes the handle for {@code orderId} once the current transaction
+     * has committed, so a waiter never sees an outcome that could still roll
+     * back. Outside a transaction the handle is completed right away.
+     */
+    public void completeAfterCommit(UUID orderId, OrderStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(orderId, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                complete(orderId, status);
+            }
+        });
+    }
+
+    public int size() {
+        return handles.size();
+    }
+}
@@ -10,9 +10,17 @@ import java.util.Objects;
  */
 public final class PlaceOrderCommand {
 
+    private final String customerId;
     private final Map<String, Integer> skuQuantities;
 
     public PlaceOrderCommand(Map<String, Integer> skuQuantities) {
+        this(null, skuQuantities);
+    }
+
+    /**
+     * @param customerId who places the order (JWT subject), or null if not known
+     */
+    public PlaceOrderCommand(String customerId, Map<String, Integer> skuQuantities) {
         if (skuQuantities == null || skuQuantities.isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
@@ -26,9 +34,14 @@ public final class PlaceOrderCommand {
             }
         });
 
+        this.customerId = customerId;
         this.skuQuantities = Map.copyOf(skuQuantities);
     }
 
+    public String getCustomerId() {
+        return customerId;
+    }
+
     public Map<String, Integer> getSkuQuantities() {
         return Collections.unmodifiableMap(skuQuantities);
     }
@@ -38,11 +51,12 @@ public final class PlaceOrderCommand {
         if (this == o) return true;
         if (!(o instanceof PlaceOrderCommand)) return false;
         PlaceOrderCommand that = (PlaceOrderCommand) o;
-        return skuQuantities.equals(that.skuQuantities);
+        return Objects.equals(customerId, that.customerId) &&
+                skuQuantities.equals(that.skuQuantities);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(skuQuantities);
+        return Objects.hash(customerId, skuQuantities);
     }
 }
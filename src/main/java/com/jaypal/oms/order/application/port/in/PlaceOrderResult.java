@@ -0,0 +1,22 @@
+package com.jaypal.oms.order.application.port.in;
+
+import java.util.UUID;
+
+/**
+ * Outcome of placing a single order within a batch.
+ * Either carries the new order ID or the reason the order was rejected.
+ */
+public record PlaceOrderResult(UUID orderId, String error) {
+
+    public static PlaceOrderResult placed(UUID orderId) {
+        return new PlaceOrderResult(orderId, null);
+    }
+
+    public static PlaceOrderResult rejected(String error) {
+        return new PlaceOrderResult(null, error);
+    }
+
+    public boolean isPlaced() {
+        return orderId != null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.jaypal.oms.order.application.port.out;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CatalogPort {
@@ -11,4 +13,12 @@ public interface CatalogPort {
      * @return Price if found, empty otherwise.
      */
     Optional<BigDecimal> getPrice(String sku);
+
+    /**
+     * Fetches prices for many SKUs at once.
+     *
+     * @param skus Product SKUs (duplicates are ignored)
+     * @return Prices keyed by SKU; unknown SKUs are absent from the map.
+     */
+    Map<String, BigDecimal> getPrices(Collection<String> skus);
 }
@@ -0,0 +1,11 @@
+package com.jaypal.oms.order.application.port.out;
+
+/**
+ * Raised when an idempotency key is claimed by a second order placement.
+ */
+public class DuplicateIdempotencyKeyException extends RuntimeException {
+
+    public DuplicateIdempotencyKeyException(String key, Throwable cause) {
+        super("Idempotency key already used: " + key, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jaypal.oms.order.application.port.out;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port for the idempotency key → order id mapping used to deduplicate
+ * retried order placements.
+ */
+public interface IdempotencyKeyPort {
+
+    /**
+     * Looks up the order a key was used for, cheapest store first.
+     *
+     * @return the order id, empty if the key has not been used by a committed order
+     */
+    Optional<UUID> find(String key);
+
+    /**
+     * Durably binds a key to a new order; must run in the placement transaction
+     * so the binding commits (or rolls back) with the order.
+     *
+     * @throws DuplicateIdempotencyKeyException if the key is already bound
+     */
+    void claim(String key, UUID orderId);
+
+    /**
+     * Publishes a committed binding to the fast lookup tiers.
+     */
+    void remember(String key, UUID orderId);
+}
@@ -0,0 +1,17 @@
+package com.jaypal.oms.order.application.port.out;
+
+import com.jaypal.oms.shared.kernel.DomainEvent;
+
+import java.util.Collection;
+
+/**
+ * Port for publishing order domain events.
+ *
+ * Must be called inside the transaction that persists the state change the
+ * events describe: events are recorded with that transaction and delivered
+ * at least once after it commits, surviving restarts in between.
+ */
+public interface OrderEventPublisherPort {
+
+    void publish(Collection<? extends DomainEvent> events);
+}
@@ -1,7 +1,12 @@
 package com.jaypal.oms.order.application.port.out;
 
 import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,5 +17,81 @@ public interface OrderRepositoryPort {
 
     void save(Order order);
 
+    /**
+     * Persists many new orders in one go, letting the JDBC driver batch the inserts.
+     */
+    void saveAll(Collection<Order> orders);
+
     Optional<Order> findById(UUID orderId);
+
+    /**
+     * Moves an order from {@code expected} to {@code next} in one conditional
+     * write, without loading it. Of two racing transitions out of the same
+     * state only one applies.
+     *
+     * @return true if the order was in {@code expected} and now is in
+     *         {@code next}; false if it does not exist or is in another state
+     */
+    boolean transitionStatus(UUID orderId, OrderStatus expected, OrderStatus next);
+
+    /**
+     * {@link #transitionStatus(UUID, OrderStatus, OrderStatus)} for an order
+     * placed by {@code customerId}; the ownership check is part of the write.
+     *
+     * @return true if the transition applied; false if the order does not
+     *         exist, belongs to someone else or is in another state
+     */
+    boolean transitionStatus(UUID orderId, String customerId, OrderStatus expected, OrderStatus next);
+
+    /**
+     * Loads an order only if it was placed by {@code customerId}; the ownership
+     * check is done by the store, not by comparing after loading.
+     *
+     * @return the order, empty if it does not exist or belongs to someone else
+     */
+    Optional<Order> findByIdAndCustomerId(UUID orderId, String customerId);
+
+    /**
+     * Keyset page of PENDING orders created before {@code cutoff}, ordered by
+     * (createdAt, orderId).
+     *
+     * @param after last key of the previous page, or null for the first page
+     */
+    List<OrderKey> findPendingCreatedBefore(Instant cutoff, OrderKey after, int limit);
+
+    long countPendingCreatedBefore(Instant cutoff);
+
+    /**
+     * Keyset page of order summaries created in [{@code from}, {@code to}),
+     * newest first by (createdAt, orderId). Items are not loaded.
+     *
+     * @param status only orders in this status, or null for any status
+     * @param before last key of the previous page, or null for the first page
+     */
+    List<OrderSummary> findSummaries(OrderStatus status, Instant from, Instant to,
+                                     OrderKey before, int limit);
+
+    /**
+     * Keyset page of one customer's order summaries, newest first by
+     * (createdAt, orderId). Items are not loaded.
+     *
+     * @param before last key of the previous page, or null for the first page
+     */
+    List<OrderSummary> findSummariesByCustomerId(String customerId, OrderKey before, int limit);
+
+    /**
+     * Position of an order in a (createdAt, orderId) keyset scan.
+     */
+    record OrderKey(UUID orderId, Instant createdAt) {
+    }
+
+    /**
+     * Order header without its items, for list views.
+     */
+    record OrderSummary(UUID orderId, OrderStatus status, BigDecimal subtotal, Instant createdAt) {
+
+        public OrderKey key() {
+            return new OrderKey(orderId, createdAt);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Use case for waiting until the saga has confirmed or cancelled an order.
+ *
+ * Nothing is polled: the order is read once, in case the saga finished
+ * before the wait started (a fast saga or a replayed placement), and
+ * otherwise the returned future is completed by the saga through the
+ * OrderCompletionRegistry. No thread is held while waiting.
+ */
+public class AwaitOrderOutcomeUseCase {
+
+    private final OrderRepositoryPort orderRepository;
+    private final OrderCompletionRegistry completions;
+
+    public AwaitOrderOutcomeUseCase(OrderRepositoryPort orderRepository,
+                                    OrderCompletionRegistry completions) {
+        this.orderRepository = orderRepository;
+        this.completions = completions;
+    }
+
+    /**
+     * @param orderId an order that has been committed
+     * @param timeout how long to wait for the saga
+     * @return future completing with CONFIRMED or CANCELLED, or with PENDING
+     *         once {@code timeout} has elapsed
+     */
+    public CompletableFuture<OrderStatus> awaitOutcome(UUID orderId, Duration timeout) {
+        CompletableFuture<OrderStatus> handle = completions.register(orderId);
+
+        orderRepository.findById(orderId)
+                .map(Order::getStatus)
+                .filter(status -> status != OrderStatus.CREATED && status != OrderStatus.PENDING)
+                .ifPresent(status -> completions.complete(orderId, status));
+
+        return handle.copy()
+                .completeOnTimeout(OrderStatus.PENDING, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((status, error) -> completions.unregister(orderId, handle));
+    }
+}
@@ -1,13 +1,18 @@
 package com.jaypal.oms.order.application.usecase;
 
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
 import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.exception.ConcurrentOrderUpdateException;
 import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Cancel Order Use Case
@@ -17,39 +22,72 @@ import java.util.UUID;
  * Flow:
  * 1. Load order from repository
  * 2. Transition to CANCELLED state
- * 3. Save order
- * 4. Publish OrderCancelledEvent (transactional)
+ * 3. Write CANCELLED only if the stored status is still the loaded one
+ * 4. Record OrderCancelledEvent in the outbox (same transaction)
+ * 5. Answer anyone awaiting the order's outcome, once committed
  *
  * Event Flow (async, via listeners):
  * OrderCancelledEvent → InventoryModule → releases reserved stock
  *
  * Idempotency: Cancelling an already-cancelled order is no-op (safe)
+ *
+ * Customers may only cancel their own orders: the ownership check is part of
+ * the load query, and someone else's order is reported as not found.
+ *
+ * Concurrency: the write in step 3 is conditional, so a confirmation or
+ * timeout cancellation committed after the load is not overwritten; the
+ * request fails with ConcurrentOrderUpdateException instead.
  */
 @Slf4j
 @RequiredArgsConstructor
 public class CancelOrderUseCase {
 
     private final OrderRepositoryPort orderRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventPublisherPort eventPublisher;
+    private final OrderCompletionRegistry orderCompletions;
 
     /**
      * Cancel an order
      *
      * @param orderId the order to cancel
      * @throws IllegalArgumentException if order not found
+     * @throws ConcurrentOrderUpdateException if the order changed state while cancelling
      */
     @Transactional
     public void cancelOrder(UUID orderId) {
         log.info("Attempting to cancel order: {}", orderId);
 
         // Step 1: Load order
-        Order order = orderRepository.findById(orderId)
+        cancel(orderRepository.findById(orderId), orderId,
+                loaded -> orderRepository.transitionStatus(orderId, loaded, OrderStatus.CANCELLED));
+    }
+
+    /**
+     * Cancel an order on behalf of the customer who placed it
+     *
+     * @param orderId    the order to cancel
+     * @param customerId the customer requesting the cancellation
+     * @throws IllegalArgumentException if order not found or not placed by the customer
+     * @throws ConcurrentOrderUpdateException if the order changed state while cancelling
+     */
+    @Transactional
+    public void cancelOrder(UUID orderId, String customerId) {
+        log.info("Attempting to cancel order: {} for customer: {}", orderId, customerId);
+
+        // Step 1: Load order, only if the customer owns it
+        cancel(orderRepository.findByIdAndCustomerId(orderId, customerId), orderId,
+                loaded -> orderRepository.transitionStatus(orderId, customerId, loaded, OrderStatus.CANCELLED));
+    }
+
+    private void cancel(Optional<Order> loaded, UUID orderId, Predicate<OrderStatus> cancelIfStill) {
+        Order order = loaded
                 .orElseThrow(() -> {
                     log.warn("Order not found for cancellation: {}", orderId);
                     return new IllegalArgumentException("Order not found: " + orderId);
                 });
 
-        log.debug("Order loaded (status: {}): {}", order.getStatus(), orderId);
+        OrderStatus loadedStatus = order.getStatus();
+        log.debug("Order loaded (status: {}): {}", loadedStatus, orderId);
 
         // Step 2: Attempt cancellation (may throw if in final state)
         try {
@@ -59,15 +97,21 @@ public class CancelOrderUseCase {
             throw e;
         }
 
-        // Step 3: Save cancelled order
-        orderRepository.save(order);
+        // Step 3: Write CANCELLED only over the status the decision was made on
+        if (!cancelIfStill.test(loadedStatus)) {
+            log.warn("Order changed state during cancellation (was {}): {}", loadedStatus, orderId);
+            throw new ConcurrentOrderUpdateException("Order was modified concurrently: " + orderId);
+        }
         log.debug("Order marked as CANCELLED: {}", orderId);
 
         // Step 4: Publish cancellation event for inventory compensation
         // Event triggers stock release (idempotent if no stock was ever reserved)
-        order.getDomainEvents().forEach(eventPublisher::publishEvent);
+        eventPublisher.publish(order.getDomainEvents());
         order.clearDomainEvents();
 
+        // Step 5: Release a caller waiting on the saga, after the cancellation commits
+        orderCompletions.completeAfterCommit(orderId, OrderStatus.CANCELLED);
+
         log.info("Order cancelled successfully: {}", orderId);
     }
 }
@@ -0,0 +1,101 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.out.DuplicateIdempotencyKeyException;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Use case for placing an order at most once per idempotency key.
+ *
+ * A replay of a committed key is answered from the key store without pricing
+ * or persisting anything. Concurrent requests with the same key on this node
+ * wait for the first one and share its outcome; across nodes, the key claimed
+ * in the placement transaction lets only one order commit, and the loser
+ * returns the winner's order id.
+ *
+ * Keys are scoped to the customer, so two customers may use the same key.
+ * Runs outside any transaction: the placement must be committed before
+ * waiting requests are answered.
+ */
+@Slf4j
+public class IdempotentPlaceOrderUseCase {
+
+    private final PlaceOrderUseCase placeOrderUseCase;
+    private final IdempotencyKeyPort idempotencyKeys;
+    private final ConcurrentMap<String, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentPlaceOrderUseCase(PlaceOrderUseCase placeOrderUseCase,
+                                       IdempotencyKeyPort idempotencyKeys) {
+        this.placeOrderUseCase = placeOrderUseCase;
+        this.idempotencyKeys = idempotencyKeys;
+    }
+
+    /**
+     * @param command        the order to place
+     * @param idempotencyKey key chosen by the client for this logical request
+     * @return the id of the order placed for this key, now or by an earlier request
+     */
+    public UUID placeOrder(PlaceOrderCommand command, String idempotencyKey) {
+        String key = command.getCustomerId() + ":" + idempotencyKey;
+
+        Optional<UUID> existing = idempotencyKeys.find(key);
+        if (existing.isPresent()) {
+            log.info("Replaying order {} for idempotency key", existing.get());
+            return existing.get();
+        }
+
+        CompletableFuture<UUID> placement = new CompletableFuture<>();
+        CompletableFuture<UUID> running = inFlight.putIfAbsent(key, placement);
+        if (running != null) {
+            log.debug("Waiting for in-flight placement with the same idempotency key");
+            return await(running);
+        }
+
+        try {
+            UUID orderId = place(command, key);
+            placement.complete(orderId);
+            return orderId;
+        } catch (RuntimeException e) {
+            placement.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, placement);
+        }
+    }
+
+    private UUID place(PlaceOrderCommand command, String key) {
+        // A previous holder of the key may have committed between the lookup and the claim
+        Optional<UUID> existing = idempotencyKeys.find(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        try {
+            UUID orderId = placeOrderUseCase.placeOrder(command, key);
+            idempotencyKeys.remember(key, orderId);
+            return orderId;
+        } catch (DuplicateIdempotencyKeyException e) {
+            // Another node committed an order for this key first
+            return idempotencyKeys.find(key).orElseThrow(() -> e);
+        }
+    }
+
+    private static UUID await(CompletableFuture<UUID> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderSummary;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Use case for browsing orders, newest first, one keyset page at a time:
+ * all orders (support tooling) or one customer's order history.
+ */
+public class ListOrdersUseCase {
+
+    /** Upper bound used when no end of the created-at range is given. */
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T00:00:00Z");
+
+    private final OrderRepositoryPort orderRepository;
+
+    public ListOrdersUseCase(OrderRepositoryPort orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * @param status only orders in this status, or null for any status
+     * @param from   inclusive lower bound on the creation time, or null for none
+     * @param to     exclusive upper bound on the creation time, or null for none
+     * @param before last order of the previous page, or null for the first page
+     * @param limit  maximum number of orders to return
+     */
+    public List<OrderSummary> listOrders(OrderStatus status, Instant from, Instant to,
+                                         OrderKey before, int limit) {
+        return orderRepository.findSummaries(
+                status,
+                from == null ? Instant.EPOCH : from,
+                to == null ? END_OF_TIME : to,
+                before,
+                limit);
+    }
+
+    /**
+     * @param customerId whose orders to list
+     * @param before     last order of the previous page, or null for the first page
+     * @param limit      maximum number of orders to return
+     */
+    public List<OrderSummary> listCustomerOrders(String customerId, OrderKey before, int limit) {
+        return orderRepository.findSummariesByCustomerId(customerId, before, limit);
+    }
+}
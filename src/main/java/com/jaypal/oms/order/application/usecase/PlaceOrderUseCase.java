@@ -1,21 +1,29 @@
 package com.jaypal.oms.order.application.usecase;
 
 import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.in.PlaceOrderResult;
 import com.jaypal.oms.order.application.port.out.CatalogPort;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
 import com.jaypal.oms.order.application.port.out.InventoryPort;
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
 import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
 import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
 import com.jaypal.oms.order.domain.model.Order;
 import com.jaypal.oms.order.domain.model.OrderItem;
+import com.jaypal.oms.shared.infrastructure.id.IdGenerator;
+import com.jaypal.oms.shared.kernel.DomainException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Place Order Use Case
@@ -23,17 +31,21 @@ import java.util.UUID;
  * Orchestrates order creation and inventory reservation via saga pattern.
  *
  * Flow:
- * 1. Create order in CREATED state
- * 2. Validate products exist and have prices
- * 3. Save order to repository
- * 4. Publish OrderPlacedEvent (transactional)
- * 5. Mark order as PENDING
- * 6. Return order ID
+ * 1. Validate products exist and have prices
+ * 2. Create order and mark it PENDING
+ * 3. Save order to repository (single insert)
+ * 4. Record OrderPlacedEvent in the outbox (same transaction)
+ * 5. Return order ID
  *
  * Event Flow (async, via listeners):
  * OrderPlacedEvent → InventoryModule → StockReservedEvent (success) or StockReservationFailedEvent (failure)
  *
- * Idempotency: Uses order ID to prevent double-processing
+ * Idempotency: Uses order ID to prevent double-processing. A placement
+ * carrying an idempotency key claims it in the same transaction, so a
+ * key can only ever be bound to one committed order.
+ *
+ * Order IDs come from the configured IdGenerator (time-ordered UUIDv7 by
+ * default), so new orders are appended to the end of the primary key index.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -41,7 +53,9 @@ public class PlaceOrderUseCase {
 
     private final OrderRepositoryPort orderRepository;
     private final CatalogPort catalogPort;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventPublisherPort eventPublisher;
+    private final IdGenerator idGenerator;
+    private final IdempotencyKeyPort idempotencyKeys;
 
     /**
      * Place an order and initiate inventory saga
@@ -52,51 +66,135 @@ public class PlaceOrderUseCase {
      */
     @Transactional
     public UUID placeOrder(PlaceOrderCommand command) {
-        UUID orderId = UUID.randomUUID();
+        return placeOrder(command, null);
+    }
+
+    /**
+     * Place an order bound to an idempotency key
+     *
+     * The key is claimed before anything else, so a duplicate fails fast
+     * (or waits for the competing transaction) without pricing the order.
+     *
+     * @param idempotencyKey caller-scoped key, or null for none
+     * @throws com.jaypal.oms.order.application.port.out.DuplicateIdempotencyKeyException
+     *         if another order already claimed the key
+     */
+    @Transactional
+    public UUID placeOrder(PlaceOrderCommand command, String idempotencyKey) {
+        UUID orderId = idGenerator.newId();
 
         log.info("Placing order: {} with {} items", orderId, command.getSkuQuantities().size());
 
+        if (idempotencyKey != null) {
+            idempotencyKeys.claim(idempotencyKey, orderId);
+        }
+
         // Step 1: Validate and create order
         List<OrderItem> items = toOrderItems(command.getSkuQuantities());
-        Order order = new Order(orderId, items);
-
-        // Step 2: Save order in CREATED state
-        orderRepository.save(order);
-        log.debug("Order saved with CREATED status: {}", orderId);
+        Order order = new Order(orderId, command.getCustomerId(), items);
 
-        // Step 3: Transition to PENDING and mark for saga processing
+        // Step 2: Transition to PENDING before the first write; the CREATED
+        // state is never visible outside this transaction, so one insert suffices
         order.markPending();
+
+        // Step 3: Save order in PENDING state
         orderRepository.save(order);
+        log.debug("Order saved with PENDING status: {}", orderId);
 
-        // Step 4: Publish OrderPlacedEvent within transaction
-        // Event is published at commit time via @TransactionalEventListener in saga coordinator
-        OrderPlacedEvent event = new OrderPlacedEvent(orderId, command.getSkuQuantities());
-        eventPublisher.publishEvent(event);
+        // Step 4: Record OrderPlacedEvent in the outbox within the transaction;
+        // the outbox relay hands it to the saga once committed
+        eventPublisher.publish(List.of(new OrderPlacedEvent(orderId, command.getSkuQuantities())));
 
         log.info("Order placed successfully: {} (status: PENDING, waiting for stock reservation)", orderId);
         return orderId;
     }
 
     /**
-     * Convert SKU quantities to OrderItems with pricing
+     * Place many orders in a single transaction
+     *
+     * Prices for every distinct SKU in the batch are resolved with one catalog call,
+     * and all accepted orders are persisted together so the inserts can be batched.
+     * Orders go straight to PENDING since no one can observe the CREATED state
+     * inside the transaction.
+     *
+     * An order referencing an unknown SKU (or otherwise failing validation) is
+     * rejected on its own; the rest of the batch still goes through.
+     *
+     * @param commands one command per order
+     * @return one result per command, in the same order
      */
-    private List<OrderItem> toOrderItems(Map<String, Integer> skuQuantities) {
+    @Transactional
+    public List<PlaceOrderResult> placeOrders(List<PlaceOrderCommand> commands) {
+        log.info("Placing batch of {} orders", commands.size());
+
+        Set<String> skus = commands.stream()
+                .flatMap(c -> c.getSkuQuantities().keySet().stream())
+                .collect(Collectors.toSet());
+        Map<String, BigDecimal> prices = catalogPort.getPrices(skus);
+
+        List<PlaceOrderResult> results = new ArrayList<>(commands.size());
+        List<Order> orders = new ArrayList<>(commands.size());
+        List<OrderPlacedEvent> events = new ArrayList<>(commands.size());
+
+        for (PlaceOrderCommand command : commands) {
+            Optional<String> unknownSku = command.getSkuQuantities().keySet().stream()
+                    .filter(sku -> !prices.containsKey(sku))
+                    .findFirst();
+            if (unknownSku.isPresent()) {
+                log.warn("Product not found for SKU: {}", unknownSku.get());
+                results.add(PlaceOrderResult.rejected("Product not found: " + unknownSku.get()));
+                continue;
+            }
+
+            UUID orderId = idGenerator.newId();
+            try {
+                Order order = new Order(orderId, command.getCustomerId(),
+                        toOrderItems(command.getSkuQuantities(), prices));
+                order.markPending();
+                orders.add(order);
+                events.add(new OrderPlacedEvent(orderId, command.getSkuQuantities()));
+                results.add(PlaceOrderResult.placed(orderId));
+            } catch (DomainException e) {
+                log.warn("Order rejected in batch: {}", e.getMessage());
+                results.add(PlaceOrderResult.rejected(e.getMessage()));
+            }
+        }
+
+        orderRepository.saveAll(orders);
+        eventPublisher.publish(events);
+
+        log.info("Batch placed: {} accepted, {} rejected",
+                orders.size(), commands.size() - orders.size());
+        return results;
+    }
+
+    /**
+     * Convert SKU quantities to OrderItems using already resolved prices
+     */
+    private List<OrderItem> toOrderItems(Map<String, Integer> skuQuantities,
+                                         Map<String, BigDecimal> prices) {
         return skuQuantities.entrySet().stream()
                 .map(entry -> new OrderItem(
                         entry.getKey(),
                         entry.getValue(),
-                        resolvePrice(entry.getKey())))
+                        prices.get(entry.getKey())))
                 .toList();
     }
 
     /**
-     * Resolve product price from catalog
+     * Convert SKU quantities to OrderItems with pricing
+     *
+     * All prices are resolved with one catalog call, however many lines the order has.
      */
-    private BigDecimal resolvePrice(String sku) {
-        return catalogPort.getPrice(sku)
-                .orElseThrow(() -> {
+    private List<OrderItem> toOrderItems(Map<String, Integer> skuQuantities) {
+        Map<String, BigDecimal> prices = catalogPort.getPrices(skuQuantities.keySet());
+        skuQuantities.keySet().stream()
+                .filter(sku -> !prices.containsKey(sku))
+                .findFirst()
+                .ifPresent(sku -> {
                     log.warn("Product not found for SKU: {}", sku);
-                    return new IllegalArgumentException("Product not found: " + sku);
+                    throw new IllegalArgumentException("Product not found: " + sku);
                 });
+        return toOrderItems(skuQuantities, prices);
     }
 }
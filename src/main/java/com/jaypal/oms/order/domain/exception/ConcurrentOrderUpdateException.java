@@ -0,0 +1,12 @@
+package com.jaypal.oms.order.domain.exception;
+
+import com.jaypal.oms.shared.kernel.DomainException;
+
+/**
+ * The order changed state between being loaded and being written.
+ */
+public class ConcurrentOrderUpdateException extends DomainException {
+    public ConcurrentOrderUpdateException(String message) {
+        super(message);
+    }
+}
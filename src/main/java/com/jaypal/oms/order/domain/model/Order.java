@@ -4,6 +4,7 @@ import com.jaypal.oms.order.domain.event.OrderCancelledEvent;
 import com.jaypal.oms.order.domain.exception.InvalidOrderStateException;
 import com.jaypal.oms.shared.kernel.DomainEvent;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -20,16 +21,31 @@ import java.util.UUID;
  *              CANCELLED (compensation)
  *
  * Publishes domain events for saga coordination.
+ * The subtotal (sum of line totals) is computed once when the order is
+ * placed and persisted with it.
  */
 public class Order {
 
     private final UUID orderId;
+    private final String customerId;
     private final List<OrderItem> items;
+    private final BigDecimal subtotal;
     private OrderStatus status;
     private final Instant createdAt;
     private final List<DomainEvent> domainEvents = new ArrayList<>();
 
+    // Persistence bookkeeping: lets the repository write only what changed
+    private boolean isNew = true;
+    private boolean statusDirty;
+
     public Order(UUID orderId, List<OrderItem> items) {
+        this(orderId, null, items);
+    }
+
+    /**
+     * @param customerId who placed the order (JWT subject), or null if not known
+     */
+    public Order(UUID orderId, String customerId, List<OrderItem> items) {
         if (orderId == null) {
             throw new IllegalArgumentException("OrderId must be provided");
         }
@@ -38,19 +54,69 @@ public class Order {
         }
 
         this.orderId = orderId;
+        this.customerId = customerId;
         this.items = List.copyOf(items);
+        this.subtotal = this.items.stream()
+                .map(OrderItem::totalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
         this.status = OrderStatus.CREATED;
         this.createdAt = Instant.now();
     }
 
+    private Order(UUID orderId, String customerId, List<OrderItem> items, BigDecimal subtotal,
+                  OrderStatus status, Instant createdAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.items = List.copyOf(items);
+        this.subtotal = subtotal;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.isNew = false;
+    }
+
+    /**
+     * Rebuilds an order from stored state.
+     *
+     * For use by persistence adapters only: restores subtotal, status and
+     * creation time as-is, without running state transitions or raising
+     * domain events.
+     */
+    public static Order reconstitute(UUID orderId, String customerId, List<OrderItem> items,
+                                     BigDecimal subtotal, OrderStatus status, Instant createdAt) {
+        if (orderId == null) {
+            throw new IllegalArgumentException("OrderId must be provided");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new InvalidOrderStateException("Order must contain at least one item");
+        }
+        if (subtotal == null || status == null || createdAt == null) {
+            throw new IllegalArgumentException("Subtotal, status and creation time must be provided");
+        }
+        return new Order(orderId, customerId, items, subtotal, status, createdAt);
+    }
+
     public UUID getOrderId() {
         return orderId;
     }
 
+    /**
+     * @return who placed the order, or null if not known
+     */
+    public String getCustomerId() {
+        return customerId;
+    }
+
     public List<OrderItem> getItems() {
         return Collections.unmodifiableList(items);
     }
 
+    /**
+     * @return sum of the line totals, as computed when the order was placed
+     */
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
@@ -75,17 +141,41 @@ public class Order {
         domainEvents.clear();
     }
 
+    /**
+     * @return true until the order has been written to (or loaded from) the store
+     */
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * @return true if the status changed since the order was last persisted
+     */
+    public boolean isStatusDirty() {
+        return statusDirty;
+    }
+
+    /**
+     * Public hook for use by persistence adapter.
+     * Called after the order has been written or loaded, so that subsequent
+     * saves only write status transitions.
+     */
+    public void markPersisted() {
+        this.isNew = false;
+        this.statusDirty = false;
+    }
+
     /**
      * Confirms the order.
-     * Allowed only from CREATED state.
+     * Allowed from CREATED or PENDING state.
      * Called when StockReservedEvent is received.
      */
     public void confirm() {
-        if (status != OrderStatus.CREATED) {
+        if (status != OrderStatus.CREATED && status != OrderStatus.PENDING) {
             throw new InvalidOrderStateException(
-                    "Order can only be confirmed from CREATED state, current: " + status);
+                    "Order can only be confirmed from CREATED or PENDING state, current: " + status);
         }
-        this.status = OrderStatus.CONFIRMED;
+        transitionTo(OrderStatus.CONFIRMED);
     }
 
     /**
@@ -98,7 +188,7 @@ public class Order {
             throw new InvalidOrderStateException(
                     "Order can only be marked pending from CREATED state");
         }
-        this.status = OrderStatus.PENDING;
+        transitionTo(OrderStatus.PENDING);
     }
 
     /**
@@ -115,7 +205,7 @@ public class Order {
             throw new InvalidOrderStateException("Cannot cancel a completed order");
         }
 
-        this.status = OrderStatus.CANCELLED;
+        transitionTo(OrderStatus.CANCELLED);
 
         // Publish event for compensation (inventory release)
         domainEvents.add(new OrderCancelledEvent(orderId, reason));
@@ -132,6 +222,11 @@ public class Order {
         cancel(reason);
     }
 
+    private void transitionTo(OrderStatus next) {
+        this.status = next;
+        this.statusDirty = true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
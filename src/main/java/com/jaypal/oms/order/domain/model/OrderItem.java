@@ -7,13 +7,15 @@ import java.util.Objects;
 
 /**
  * Represents a single item in an order.
- * Immutable by design.
+ * Immutable by design; the line total is computed once, when the item is
+ * created, and stored with it.
  */
 public final class OrderItem {
 
     private final String sku;
     private final int quantity;
     private final BigDecimal unitPrice;
+    private final BigDecimal lineTotal;
 
     public OrderItem(String sku, int quantity, BigDecimal unitPrice) {
         if (sku == null || sku.isBlank()) {
@@ -29,6 +31,27 @@ public final class OrderItem {
         this.sku = sku;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
+        this.lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    private OrderItem(String sku, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.lineTotal = lineTotal;
+    }
+
+    /**
+     * Rebuilds an item from stored state.
+     *
+     * For use by persistence adapters only: keeps the stored line total
+     * instead of recomputing it.
+     */
+    public static OrderItem reconstitute(String sku, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {
+        if (lineTotal == null) {
+            throw new IllegalArgumentException("Line total must be provided");
+        }
+        return new OrderItem(sku, quantity, unitPrice, lineTotal);
     }
 
     public String getSku() {
@@ -44,7 +67,7 @@ public final class OrderItem {
     }
 
     public BigDecimal totalPrice() {
-        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        return lineTotal;
     }
 
     private static class InvalidOrderItemException extends DomainException {
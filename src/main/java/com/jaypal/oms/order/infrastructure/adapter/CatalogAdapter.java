@@ -5,6 +5,8 @@ import com.jaypal.oms.order.application.port.out.CatalogPort;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -21,4 +23,9 @@ public class CatalogAdapter implements CatalogPort {
         return catalogApi.getProduct(sku)
                 .map(p -> p.price());
     }
+
+    @Override
+    public Map<String, BigDecimal> getPrices(Collection<String> skus) {
+        return catalogApi.getPrices(skus);
+    }
 }
@@ -1,18 +1,37 @@
 package com.jaypal.oms.order.infrastructure.config;
 
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
 import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.application.usecase.AwaitOrderOutcomeUseCase;
 import com.jaypal.oms.order.application.usecase.CancelOrderUseCase;
 import com.jaypal.oms.order.application.usecase.GetOrderUseCase;
+import com.jaypal.oms.order.application.usecase.IdempotentPlaceOrderUseCase;
+import com.jaypal.oms.order.application.usecase.ListOrdersUseCase;
 import com.jaypal.oms.order.application.usecase.PlaceOrderUseCase;
+import com.jaypal.oms.order.infrastructure.idempotency.TieredIdempotencyKeyStore;
+import com.jaypal.oms.order.infrastructure.messaging.OrderEventCodec;
+import com.jaypal.oms.order.infrastructure.messaging.OrderEventPublisher;
 import com.jaypal.oms.order.infrastructure.persistence.OrderRepositoryAdapter;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderIdempotencyKeyRepository;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxRepository;
 import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderItemRepository;
 import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderRepository;
-import org.springframework.context.ApplicationEventPublisher;
+import com.jaypal.oms.shared.infrastructure.id.IdGenerator;
+import com.jaypal.oms.shared.infrastructure.id.IdGeneratorType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
 @Configuration
+@EnableScheduling
 public class OrderModuleConfig {
 
     @Bean
@@ -22,23 +41,64 @@ public class OrderModuleConfig {
         return new OrderRepositoryAdapter(orderRepository, itemRepository);
     }
 
+    @Bean
+    OrderEventPublisherPort orderEventPublisherPort(
+            SpringDataOrderOutboxRepository outboxRepository,
+            OrderEventCodec codec) {
+        return new OrderEventPublisher(outboxRepository, codec);
+    }
+
+    @Bean
+    IdGenerator orderIdGenerator(
+            @Value("${app.order.id-generator:uuid-v7}") IdGeneratorType type) {
+        return type.create();
+    }
+
+    /**
+     * Idempotency keys: node-local LRU, then Redis when spring.cache.type is
+     * redis (the default), then the order_idempotency_keys table.
+     */
+    @Bean
+    IdempotencyKeyPort idempotencyKeyPort(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            SpringDataOrderIdempotencyKeyRepository repository,
+            @Value("${spring.cache.type:redis}") String cacheType,
+            @Value("${app.order.idempotency.redis-key-prefix:oms:order:idempotency:}") String keyPrefix,
+            @Value("${app.order.idempotency.local-maximum-size:100000}") long localMaximumSize,
+            @Value("${app.order.idempotency.ttl:24h}") Duration ttl) {
+        StringRedisTemplate redis = "redis".equalsIgnoreCase(cacheType) ? redisTemplate.getObject() : null;
+        return new TieredIdempotencyKeyStore(redis, repository, keyPrefix, localMaximumSize, ttl);
+    }
+
     @Bean
     @Transactional
     PlaceOrderUseCase placeOrderUseCase(
             OrderRepositoryPort orderRepositoryPort,
             com.jaypal.oms.order.application.port.out.CatalogPort catalogPort,
-            ApplicationEventPublisher eventPublisher) {
+            OrderEventPublisherPort eventPublisher,
+            IdGenerator orderIdGenerator,
+            IdempotencyKeyPort idempotencyKeyPort) {
+
+        return new PlaceOrderUseCase(orderRepositoryPort, catalogPort, eventPublisher,
+                orderIdGenerator, idempotencyKeyPort);
+    }
+
+    @Bean
+    IdempotentPlaceOrderUseCase idempotentPlaceOrderUseCase(
+            PlaceOrderUseCase placeOrderUseCase,
+            IdempotencyKeyPort idempotencyKeyPort) {
 
-        return new PlaceOrderUseCase(orderRepositoryPort, catalogPort, eventPublisher);
+        return new IdempotentPlaceOrderUseCase(placeOrderUseCase, idempotencyKeyPort);
     }
 
     @Bean
     @Transactional
     CancelOrderUseCase cancelOrderUseCase(
             OrderRepositoryPort orderRepositoryPort,
-            ApplicationEventPublisher eventPublisher) {
+            OrderEventPublisherPort eventPublisher,
+            OrderCompletionRegistry orderCompletionRegistry) {
 
-        return new CancelOrderUseCase(orderRepositoryPort, eventPublisher);
+        return new CancelOrderUseCase(orderRepositoryPort, eventPublisher, orderCompletionRegistry);
     }
 
     @Bean
@@ -47,4 +107,24 @@ public class OrderModuleConfig {
 
         return new GetOrderUseCase(orderRepositoryPort);
     }
+
+    @Bean
+    ListOrdersUseCase listOrdersUseCase(
+            OrderRepositoryPort orderRepositoryPort) {
+
+        return new ListOrdersUseCase(orderRepositoryPort);
+    }
+
+    @Bean
+    OrderCompletionRegistry orderCompletionRegistry() {
+        return new OrderCompletionRegistry();
+    }
+
+    @Bean
+    AwaitOrderOutcomeUseCase awaitOrderOutcomeUseCase(
+            OrderRepositoryPort orderRepositoryPort,
+            OrderCompletionRegistry orderCompletionRegistry) {
+
+        return new AwaitOrderOutcomeUseCase(orderRepositoryPort, orderCompletionRegistry);
+    }
 }
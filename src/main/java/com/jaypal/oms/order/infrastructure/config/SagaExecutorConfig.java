@@ -0,0 +1,83 @@
+package com.jaypal.oms.order.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Saga Executor Configuration
+ *
+ * Runs order saga steps off the HTTP request thread on a dedicated, bounded executor.
+ *
+ * - virtual-threads: back the pool with virtual threads (default) or platform threads
+ * - concurrency: max saga steps in flight; keep at or below the DB connection pool size
+ * - queue-capacity: sagas waiting for a free slot
+ *
+ * Saga steps are submitted by the outbox relay. When the queue is full the
+ * submitting relay worker blocks until a slot frees up, so a backlog slows
+ * the relay down and stays in the outbox instead of being dropped. On
+ * shutdown queued sagas are drained.
+ *
+ * Metrics:
+ * - saga.executor.queue.depth (gauge): sagas waiting to run
+ * - saga.executor.active (gauge): sagas currently running
+ * - saga.executor.saturated (counter): submissions that had to wait for queue space
+ */
+@Slf4j
+@Configuration
+public class SagaExecutorConfig {
+
+    public static final String SAGA_EXECUTOR = "sagaExecutor";
+
+    @Bean(name = SAGA_EXECUTOR)
+    ThreadPoolTaskExecutor sagaExecutor(
+            @Value("${app.order.saga.executor.virtual-threads:true}") boolean virtualThreads,
+            @Value("${app.order.saga.executor.concurrency:16}") int concurrency,
+            @Value("${app.order.saga.executor.queue-capacity:10000}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+
+        Counter saturated = Counter.builder("saga.executor.saturated")
+                .description("Saga submissions that waited because the queue was full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("saga-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Saga executor is shut down");
+            }
+            saturated.increment();
+            log.debug("Saga executor saturated (queue: {}), relay waits for space", pool.getQueue().size());
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted waiting for saga executor", e);
+            }
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("saga.executor.queue.depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Saga executions waiting to run")
+                .register(meterRegistry);
+        Gauge.builder("saga.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Saga executions currently running")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
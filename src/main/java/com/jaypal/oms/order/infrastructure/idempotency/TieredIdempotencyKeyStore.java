@@ -0,0 +1,102 @@
+package com.jaypal.oms.order.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jaypal.oms.order.application.port.out.DuplicateIdempotencyKeyException;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys looked up in a node-local LRU, then Redis, then the
+ * database.
+ *
+ * The database row is written in the placement transaction and is the only
+ * tier relied on for correctness; the LRU and Redis only save the query on
+ * replays. Redis is optional (null when the cache is node-local) and its
+ * failures fall through to the database.
+ */
+@Slf4j
+public class TieredIdempotencyKeyStore implements IdempotencyKeyPort {
+
+    private final Cache<String, UUID> local;
+    private final StringRedisTemplate redisTemplate;
+    private final SpringDataOrderIdempotencyKeyRepository repository;
+    private final String keyPrefix;
+    private final Duration ttl;
+
+    public TieredIdempotencyKeyStore(StringRedisTemplate redisTemplate,
+                                     SpringDataOrderIdempotencyKeyRepository repository,
+                                     String keyPrefix,
+                                     long localMaximumSize,
+                                     Duration ttl) {
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.repository = repository;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<UUID> find(String key) {
+        UUID orderId = local.getIfPresent(key);
+        if (orderId != null) {
+            return Optional.of(orderId);
+        }
+
+        orderId = readRedis(key);
+        if (orderId != null) {
+            local.put(key, orderId);
+            return Optional.of(orderId);
+        }
+
+        Optional<UUID> stored = repository.findOrderIdByKey(key);
+        stored.ifPresent(id -> remember(key, id));
+        return stored;
+    }
+
+    @Override
+    public void claim(String key, UUID orderId) {
+        try {
+            repository.insert(key, orderId, Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateIdempotencyKeyException(key, e);
+        }
+    }
+
+    @Override
+    public void remember(String key, UUID orderId) {
+        local.put(key, orderId);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + key, orderId.toString(), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Could not write idempotency key to Redis: {}", e.getMessage());
+        }
+    }
+
+    private UUID readRedis(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(keyPrefix + key);
+            return value == null ? null : UUID.fromString(value);
+        } catch (RuntimeException e) {
+            log.warn("Could not read idempotency key from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+}
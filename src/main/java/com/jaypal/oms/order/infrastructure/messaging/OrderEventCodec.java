@@ -0,0 +1,74 @@
+package com.jaypal.oms.order.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaypal.oms.order.domain.event.OrderCancelledEvent;
+import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
+import com.jaypal.oms.order.infrastructure.persistence.OrderOutboxJpaEntity;
+import com.jaypal.oms.shared.kernel.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Converts order domain events to and from outbox rows.
+ *
+ * The payload carries only the event-specific fields, so domain events do not
+ * need to be Jackson-friendly and can evolve without breaking queued rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventCodec {
+
+    static final String ORDER_PLACED = "OrderPlaced";
+    static final String ORDER_CANCELLED = "OrderCancelled";
+
+    private final ObjectMapper objectMapper;
+
+    public OrderOutboxJpaEntity encode(DomainEvent event) {
+        if (event instanceof OrderPlacedEvent placed) {
+            return new OrderOutboxJpaEntity(ORDER_PLACED, placed.getOrderId(),
+                    write(Map.of("skuQuantities", placed.getSkuQuantities())), placed.occurredOn());
+        }
+        if (event instanceof OrderCancelledEvent cancelled) {
+            return new OrderOutboxJpaEntity(ORDER_CANCELLED, cancelled.getOrderId(),
+                    write(Map.of("reason", cancelled.getReason())), cancelled.occurredOn());
+        }
+        throw new IllegalArgumentException("Unsupported order event: " + event.getClass().getName());
+    }
+
+    public DomainEvent decode(OrderOutboxJpaEntity row) {
+        return switch (row.getEventType()) {
+            case ORDER_PLACED -> new OrderPlacedEvent(row.getOrderId(),
+                    read(row.getPayload(), new TypeReference<PlacedPayload>() {}).skuQuantities());
+            case ORDER_CANCELLED -> new OrderCancelledEvent(row.getOrderId(),
+                    read(row.getPayload(), new TypeReference<CancelledPayload>() {}).reason());
+            default -> throw new IllegalArgumentException("Unknown outbox event type: " + row.getEventType());
+        };
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+
+    private <T> T read(String payload, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize outbox payload", e);
+        }
+    }
+
+    private record PlacedPayload(Map<String, Integer> skuQuantities) {
+    }
+
+    private record CancelledPayload(String reason) {
+    }
+}
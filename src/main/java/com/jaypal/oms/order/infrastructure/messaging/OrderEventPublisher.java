@@ -1,4 +1,30 @@
 package com.jaypal.oms.order.infrastructure.messaging;
 
-public class OrderEventPublisher {
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxRepository;
+import com.jaypal.oms.shared.kernel.DomainEvent;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * Transactional outbox writer.
+ *
+ * Appends events to the order_outbox table in the caller's transaction, so an
+ * event exists if and only if the order change it describes was committed.
+ * {@link OrderOutboxRelay} dispatches them to listeners afterwards.
+ */
+@RequiredArgsConstructor
+public class OrderEventPublisher implements OrderEventPublisherPort {
+
+    private final SpringDataOrderOutboxRepository outboxRepository;
+    private final OrderEventCodec codec;
+
+    @Override
+    public void publish(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(events.stream().map(codec::encode).toList());
+    }
 }
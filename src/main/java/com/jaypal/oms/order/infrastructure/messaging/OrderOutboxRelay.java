@@ -0,0 +1,238 @@
+package com.jaypal.oms.order.infrastructure.messaging;
+
+import com.jaypal.oms.order.infrastructure.config.SagaExecutorConfig;
+import com.jaypal.oms.order.infrastructure.persistence.OrderOutboxDeadLetterJpaEntity;
+import com.jaypal.oms.order.infrastructure.persistence.OrderOutboxJpaEntity;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxDeadLetterRepository;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxRepository;
+import com.jaypal.oms.shared.kernel.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Order Outbox Relay
+ *
+ * Polls the order_outbox table, runs the order saga for each queued event,
+ * and deletes the events whose saga step has finished.
+ *
+ * Each poll runs {@code parallelism} workers. A worker claims up to
+ * {@code batch-size} rows in a short transaction (SELECT ... FOR UPDATE SKIP
+ * LOCKED, then claimed_until = now + {@code claim-lease-ms}), hands each event
+ * to the saga executor, waits for all of them to finish, and deletes the
+ * finished ones in a second short transaction; it keeps going while batches
+ * come back full. No transaction or connection is held while saga steps run,
+ * so the relay only needs a connection per worker for the claim and delete.
+ * Workers never see each other's rows, so the relay scales with parallelism
+ * and is safe to run on several instances.
+ *
+ * An event leaves the outbox only after its saga step has run, so neither a
+ * full saga queue nor a crash can lose it: a full queue makes the worker wait
+ * (see SagaExecutorConfig), and after a crash the claims lapse and the rows
+ * are relayed again. Delivery is therefore at least once; the saga steps are
+ * idempotent. A step that throws keeps its row, which is relayed again once
+ * its claim lapses. The lease should outlast dispatching a batch; a batch that
+ * overruns it may be relayed twice.
+ *
+ * Rows that cannot be decoded are moved to order_outbox_dead_letter.
+ *
+ * Metrics:
+ * - outbox.relay.events (counter): events dispatched to the saga
+ * - outbox.relay.dead_letters (counter): undecodable events moved to the dead-letter table
+ * - outbox.relay.batch (timer): claim-dispatch-delete time per batch
+ * - outbox.relay.lag (gauge, ms): age of the oldest event in the last claimed batch
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final SpringDataOrderOutboxRepository outboxRepository;
+    private final SpringDataOrderOutboxDeadLetterRepository deadLetterRepository;
+    private final OrderEventCodec codec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor sagaExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration claimLease;
+    private final ExecutorService workers;
+
+    private final Counter relayedEvents;
+    private final Counter deadLetteredEvents;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OrderOutboxRelay(
+            SpringDataOrderOutboxRepository outboxRepository,
+            SpringDataOrderOutboxDeadLetterRepository deadLetterRepository,
+            OrderEventCodec codec,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier(SagaExecutorConfig.SAGA_EXECUTOR) Executor sagaExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.order.outbox.batch-size:100}") int batchSize,
+            @Value("${app.order.outbox.parallelism:2}") int parallelism,
+            @Value("${app.order.outbox.claim-lease-ms:60000}") long claimLeaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.codec = codec;
+        this.eventPublisher = eventPublisher;
+        this.sagaExecutor = sagaExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+        this.workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("outbox-relay-", 0).factory());
+
+        this.relayedEvents = Counter.builder("outbox.relay.events")
+                .description("Order events dispatched from the outbox")
+                .register(meterRegistry);
+        this.deadLetteredEvents = Counter.builder("outbox.relay.dead_letters")
+                .description("Undecodable order events moved to the dead-letter table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to claim, dispatch and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event in the last claimed outbox batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox with {@code parallelism} concurrent workers.
+     * The next poll starts {@code poll-interval-ms} after this one finishes.
+     */
+    @Scheduled(fixedDelayString = "${app.order.outbox.poll-interval-ms:100}")
+    public void poll() {
+        CompletableFuture.allOf(IntStream.range(0, parallelism)
+                        .mapToObj(i -> CompletableFuture.runAsync(this::drain, workers))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    /**
+     * Relays batches until the outbox is empty (or another worker holds the
+     * rest, or a saga step failed and its row was kept).
+     *
+     * @return number of events removed from the outbox
+     */
+    public int drain() {
+        int total = 0;
+        int relayed;
+        do {
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) {
+                log.error("Outbox relay batch failed, will retry on next poll: {}", e.getMessage(), e);
+                break;
+            }
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        int removed = batchTimer.record(() -> {
+            List<OrderOutboxJpaEntity> batch = claimBatch();
+            if (batch.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+            lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis());
+
+            List<Long> done = new ArrayList<>(batch.size());
+            List<OrderOutboxDeadLetterJpaEntity> deadLetters = new ArrayList<>();
+            List<CompletableFuture<OrderOutboxJpaEntity>> dispatches = new ArrayList<>(batch.size());
+            for (OrderOutboxJpaEntity row : batch) {
+                DomainEvent event;
+                try {
+                    event = codec.decode(row);
+                } catch (RuntimeException e) {
+                    // Undecodable rows would otherwise be retried forever
+                    log.error("Moving undecodable outbox event {} ({}) to the dead-letter table: {}",
+                            row.getId(), row.getEventType(), e.getMessage());
+                    deadLetters.add(new OrderOutboxDeadLetterJpaEntity(row, e.getMessage(), Instant.now()));
+                    done.add(row.getId());
+                    continue;
+                }
+                // Blocks while the saga queue is full; each step commits on its own
+                dispatches.add(CompletableFuture
+                        .runAsync(() -> eventPublisher.publishEvent(event), sagaExecutor)
+                        .handle((ignored, error) -> {
+                            if (error != null) {
+                                log.error("Saga step failed for outbox event {}, will retry once its claim lapses: {}",
+                                        row.getId(), error.getMessage(), error);
+                                return null;
+                            }
+                            return row;
+                        }));
+            }
+
+            int dispatched = 0;
+            for (CompletableFuture<OrderOutboxJpaEntity> dispatch : dispatches) {
+                OrderOutboxJpaEntity row = dispatch.join();
+                if (row != null) {
+                    done.add(row.getId());
+                    dispatched++;
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                deadLetterRepository.saveAll(deadLetters);
+                outboxRepository.deleteAllByIdInBatch(done);
+            });
+            relayedEvents.increment(dispatched);
+            deadLetteredEvents.increment(deadLetters.size());
+            return done.size();
+        });
+        if (removed > 0) {
+            log.debug("Outbox relay removed {} events", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Claims the next batch and commits the claim straight away.
+     */
+    private List<OrderOutboxJpaEntity> claimBatch() {
+        Instant now = Instant.now();
+        List<OrderOutboxJpaEntity> batch = transactionTemplate.execute(status -> {
+            List<OrderOutboxJpaEntity> claimed = outboxRepository.claimBatch(now, batchSize);
+            if (!claimed.isEmpty()) {
+                outboxRepository.markClaimed(
+                        claimed.stream().map(OrderOutboxJpaEntity::getId).toList(), now.plus(claimLease));
+            }
+            return claimed;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Idempotency key bound to the order it created.
+ *
+ * The primary key is the backstop against duplicate placements: a second
+ * insert of the same key fails, whichever node it comes from.
+ */
+@Entity
+@Table(name = "order_idempotency_keys")
+public class OrderIdempotencyKeyJpaEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected OrderIdempotencyKeyJpaEntity() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
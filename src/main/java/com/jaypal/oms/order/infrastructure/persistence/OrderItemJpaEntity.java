@@ -5,8 +5,13 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * order_id is indexed: every order load and every new-order save looks up
+ * items by it.
+ */
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items",
+        indexes = @Index(name = "idx_order_items_order_id", columnList = "order_id"))
 public class OrderItemJpaEntity {
 
     @Id
@@ -25,14 +30,18 @@ public class OrderItemJpaEntity {
     @Column(name = "unit_price", nullable = false)
     private BigDecimal unitPrice;
 
+    @Column(name = "line_total", nullable = false, updatable = false)
+    private BigDecimal lineTotal;
+
     protected OrderItemJpaEntity() {
     }
 
-    public OrderItemJpaEntity(UUID orderId, String sku, int quantity, BigDecimal unitPrice) {
+    public OrderItemJpaEntity(UUID orderId, String sku, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {
         this.orderId = orderId;
         this.sku = sku;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
+        this.lineTotal = lineTotal;
     }
 
     public UUID getOrderId() {
@@ -50,4 +59,8 @@ public class OrderItemJpaEntity {
     public BigDecimal getUnitPrice() {
         return unitPrice;
     }
+
+    public BigDecimal getLineTotal() {
+        return lineTotal;
+    }
 }
@@ -1,30 +1,67 @@
 package com.jaypal.oms.order.infrastructure.persistence;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * The order subtotal is stored with the header, so reporting can sum orders
+ * without aggregating order_items.
+ *
+ * (status, created_at, order_id) is indexed so that scans for orders left in
+ * one state since before a cutoff (stuck-order sweeps, saga health) and the
+ * keyset pages of the order listing are range reads. The listing indexes also
+ * carry subtotal, so list views are answered from the index alone.
+ *
+ * (customer_id, created_at DESC, order_id DESC) serves a customer's order
+ * history, newest first, and the owner check on cancellation.
+ */
 @Entity
-@Table(name = "orders")
-public class OrderJpaEntity {
+@Table(name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_status_created_at",
+                        columnList = "status, created_at, order_id, subtotal"),
+                @Index(name = "idx_orders_created_at", columnList = "created_at, order_id, subtotal"),
+                @Index(name = "idx_orders_customer_created_at",
+                        columnList = "customer_id, created_at DESC, order_id DESC")
+        })
+public class OrderJpaEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "order_id", nullable = false, updatable = false)
     private UUID orderId;
 
+    @Column(name = "customer_id", updatable = false)
+    private String customerId;
+
     @Column(name = "status", nullable = false)
     private String status;
 
+    @Column(name = "subtotal", nullable = false, updatable = false)
+    private BigDecimal subtotal;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    /**
+     * Order IDs are assigned by the application, so Spring Data cannot tell
+     * new rows from existing ones and would merge (SELECT first) on every save.
+     * Entities flagged via {@link #markNew()} are persisted directly instead.
+     */
+    @Transient
+    private boolean isNew;
+
     protected OrderJpaEntity() {
     }
 
-    public OrderJpaEntity(UUID orderId, String status, Instant createdAt) {
+    public OrderJpaEntity(UUID orderId, String customerId, String status, BigDecimal subtotal, Instant createdAt) {
         this.orderId = orderId;
+        this.customerId = customerId;
         this.status = status;
+        this.subtotal = subtotal;
         this.createdAt = createdAt;
     }
 
@@ -32,10 +69,18 @@ public class OrderJpaEntity {
         return orderId;
     }
 
+    public String getCustomerId() {
+        return customerId;
+    }
+
     public String getStatus() {
         return status;
     }
 
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -43,4 +88,28 @@ public class OrderJpaEntity {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    /**
+     * Flags this entity as a row that does not exist yet.
+     */
+    public OrderJpaEntity markNew() {
+        this.isNew = true;
+        return this;
+    }
+
+    @Override
+    public UUID getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
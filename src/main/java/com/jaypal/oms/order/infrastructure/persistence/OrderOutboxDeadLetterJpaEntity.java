@@ -0,0 +1,78 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox row the relay could not decode, kept for inspection and replay.
+ *
+ * Keeps the outbox id, type and payload of the original row unchanged.
+ */
+@Entity
+@Table(name = "order_outbox_dead_letter")
+public class OrderOutboxDeadLetterJpaEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "payload", nullable = false, length = 8000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    protected OrderOutboxDeadLetterJpaEntity() {
+    }
+
+    public OrderOutboxDeadLetterJpaEntity(OrderOutboxJpaEntity row, String error, Instant failedAt) {
+        this.id = row.getId();
+        this.eventType = row.getEventType();
+        this.orderId = row.getOrderId();
+        this.payload = row.getPayload();
+        this.createdAt = row.getCreatedAt();
+        this.failedAt = failedAt;
+        this.error = error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Order event waiting to be relayed to listeners.
+ *
+ * Rows are inserted in the same transaction as the order change and deleted
+ * by the relay once dispatched. The sequence id gives relay order;
+ * claimed_until is set while a relay worker is dispatching the row.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxJpaEntity {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "payload", nullable = false, length = 8000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    protected OrderOutboxJpaEntity() {
+    }
+
+    public OrderOutboxJpaEntity(String eventType, UUID orderId, String payload, Instant createdAt) {
+        this.eventType = eventType;
+        this.orderId = orderId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+}
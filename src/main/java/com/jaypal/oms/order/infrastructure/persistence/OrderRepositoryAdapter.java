@@ -4,13 +4,23 @@ import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
 import com.jaypal.oms.order.domain.model.Order;
 import com.jaypal.oms.order.domain.model.OrderItem;
 import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public class OrderRepositoryAdapter implements OrderRepositoryPort {
 
+    /** Cursor that sorts before every real order. */
+    private static final OrderKey FIRST = new OrderKey(new UUID(0L, 0L), Instant.EPOCH);
+
+    /** Cursor that sorts after every real order, for newest-first scans. */
+    private static final OrderKey LAST = new OrderKey(new UUID(0L, 0L), Instant.parse("9999-12-31T00:00:00Z"));
+
     private final SpringDataOrderRepository orderRepository;
     private final SpringDataOrderItemRepository itemRepository;
 
@@ -20,61 +30,145 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
         this.itemRepository = itemRepository;
     }
 
+    /**
+     * Writes only what changed since the order was last persisted:
+     * a new order is inserted together with its items (items are immutable
+     * and never rewritten), and a status transition becomes a single UPDATE.
+     */
     @Override
     public void save(Order order) {
-        OrderJpaEntity orderEntity =
-                new OrderJpaEntity(
-                        order.getOrderId(),
-                        order.getStatus().name(),
-                        order.getCreatedAt()
-                );
+        if (order.isNew()) {
+            orderRepository.save(toEntity(order).markNew());
+            itemRepository.saveAll(toItemEntities(order));
+        } else if (order.isStatusDirty()) {
+            orderRepository.updateStatus(order.getOrderId(), order.getStatus().name());
+        }
+        order.markPersisted();
+    }
 
-        orderRepository.save(orderEntity);
+    @Override
+    public void saveAll(Collection<Order> orders) {
+        List<OrderJpaEntity> orderEntities = new ArrayList<>(orders.size());
+        List<OrderItemJpaEntity> itemEntities = new ArrayList<>();
 
-        itemRepository.deleteAll(
-                itemRepository.findByOrderId(order.getOrderId())
-        );
+        for (Order order : orders) {
+            if (!order.isNew()) {
+                save(order);
+                continue;
+            }
+            orderEntities.add(toEntity(order).markNew());
+            itemEntities.addAll(toItemEntities(order));
+        }
 
-        List<OrderItemJpaEntity> items =
-                order.getItems().stream()
-                        .map(i -> new OrderItemJpaEntity(
-                                order.getOrderId(),
-                                i.getSku(),
-                                i.getQuantity(),
-                                i.getUnitPrice()
-                        ))
-                        .toList();
-
-        itemRepository.saveAll(items);
+        // Persisting (rather than merging) lets Hibernate group the inserts into JDBC batches
+        orderRepository.saveAll(orderEntities);
+        itemRepository.saveAll(itemEntities);
+        orders.forEach(Order::markPersisted);
     }
 
     @Override
     public Optional<Order> findById(UUID orderId) {
-        return orderRepository.findById(orderId)
-                .map(orderEntity -> {
-                    List<OrderItemJpaEntity> items =
-                            itemRepository.findByOrderId(orderId);
-
-                    List<OrderItem> domainItems =
-                            items.stream()
-                                    .map(i -> new OrderItem(
-                                            i.getSku(),
-                                            i.getQuantity(),
-                                            i.getUnitPrice()
-                                    ))
-                                    .toList();
-
-                    Order order = new Order(orderId, domainItems);
-                    if (OrderStatus.valueOf(orderEntity.getStatus())
-                            == OrderStatus.CANCELLED) {
-                        order.cancel("cancelled");
-                    }
-                    if (OrderStatus.valueOf(orderEntity.getStatus())
-                            == OrderStatus.CONFIRMED) {
-                        order.confirm();
-                    }
-
-                    return order;
-                });
+        return toOrder(orderRepository.findWithItemsById(orderId));
+    }
+
+    @Override
+    public boolean transitionStatus(UUID orderId, OrderStatus expected, OrderStatus next) {
+        return orderRepository.compareAndSetStatus(orderId, expected.name(), next.name()) == 1;
+    }
+
+    @Override
+    public boolean transitionStatus(UUID orderId, String customerId, OrderStatus expected, OrderStatus next) {
+        return orderRepository.compareAndSetStatusForCustomer(
+                orderId, customerId, expected.name(), next.name()) == 1;
+    }
+
+    @Override
+    public Optional<Order> findByIdAndCustomerId(UUID orderId, String customerId) {
+        return toOrder(orderRepository.findWithItemsByIdAndCustomerId(orderId, customerId));
+    }
+
+    private Optional<Order> toOrder(List<OrderRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        OrderRow header = rows.get(0);
+        List<OrderItem> items = rows.stream()
+                .map(r -> OrderItem.reconstitute(r.sku(), r.quantity(), r.unitPrice(), r.lineTotal()))
+                .toList();
+
+        return Optional.of(Order.reconstitute(
+                header.orderId(),
+                header.customerId(),
+                items,
+                header.subtotal(),
+                OrderStatus.valueOf(header.status()),
+                header.createdAt()
+        ));
+    }
+
+    @Override
+    public List<OrderKey> findPendingCreatedBefore(Instant cutoff, OrderKey after, int limit) {
+        OrderKey cursor = after == null ? FIRST : after;
+        return orderRepository.findKeysByStatusCreatedBefore(
+                OrderStatus.PENDING.name(), cutoff,
+                cursor.createdAt(), cursor.orderId(),
+                PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long countPendingCreatedBefore(Instant cutoff) {
+        return orderRepository.countByStatusAndCreatedAtBefore(OrderStatus.PENDING.name(), cutoff);
+    }
+
+    /**
+     * The first page starts at (to, lowest id), so the cursor condition
+     * doubles as the exclusive upper bound.
+     */
+    @Override
+    public List<OrderSummary> findSummaries(OrderStatus status, Instant from, Instant to,
+                                            OrderKey before, int limit) {
+        OrderKey cursor = before == null ? new OrderKey(FIRST.orderId(), to) : before;
+        PageRequest page = PageRequest.of(0, limit);
+        List<OrderSummaryRow> rows = status == null
+                ? orderRepository.findSummaries(from, cursor.createdAt(), cursor.orderId(), page)
+                : orderRepository.findSummariesByStatus(status.name(), from,
+                        cursor.createdAt(), cursor.orderId(), page);
+        return toSummaries(rows);
+    }
+
+    @Override
+    public List<OrderSummary> findSummariesByCustomerId(String customerId, OrderKey before, int limit) {
+        OrderKey cursor = before == null ? LAST : before;
+        return toSummaries(orderRepository.findSummariesByCustomerId(
+                customerId, cursor.createdAt(), cursor.orderId(), PageRequest.of(0, limit)));
+    }
+
+    private List<OrderSummary> toSummaries(List<OrderSummaryRow> rows) {
+        return rows.stream()
+                .map(r -> new OrderSummary(r.orderId(), OrderStatus.valueOf(r.status()), r.subtotal(), r.createdAt()))
+                .toList();
+    }
+
+    private OrderJpaEntity toEntity(Order order) {
+        return new OrderJpaEntity(
+                order.getOrderId(),
+                order.getCustomerId(),
+                order.getStatus().name(),
+                order.getSubtotal(),
+                order.getCreatedAt()
+        );
+    }
+
+    private List<OrderItemJpaEntity> toItemEntities(Order order) {
+        return order.getItems().stream()
+                .map(i -> new OrderItemJpaEntity(
+                        order.getOrderId(),
+                        i.getSku(),
+                        i.getQuantity(),
+                        i.getUnitPrice(),
+                        i.totalPrice()
+                ))
+                .toList();
     }
 }
\ No newline at end of file
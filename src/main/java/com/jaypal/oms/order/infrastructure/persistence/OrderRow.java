@@ -0,0 +1,21 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the order/items join: order header columns repeated per item.
+ * Read-only projection, never managed by the persistence context.
+ */
+public record OrderRow(
+        UUID orderId,
+        String customerId,
+        String status,
+        BigDecimal subtotal,
+        Instant createdAt,
+        String sku,
+        int quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal
+) {}
@@ -0,0 +1,17 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Order header columns for list views: every column is in the listing
+ * indexes, so the database can answer from the index alone.
+ * Read-only projection, never managed by the persistence context.
+ */
+public record OrderSummaryRow(
+        UUID orderId,
+        String status,
+        BigDecimal subtotal,
+        Instant createdAt
+) {}
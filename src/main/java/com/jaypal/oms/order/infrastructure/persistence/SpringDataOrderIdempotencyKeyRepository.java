@@ -0,0 +1,32 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SpringDataOrderIdempotencyKeyRepository
+        extends JpaRepository<OrderIdempotencyKeyJpaEntity, String> {
+
+    /**
+     * Plain INSERT, so a duplicate key fails on the statement itself rather
+     * than being merged over the existing row.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_idempotency_keys (idempotency_key, order_id, created_at)
+            VALUES (:key, :orderId, :createdAt)
+            """, nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("orderId") UUID orderId,
+               @Param("createdAt") Instant createdAt);
+
+    @Query("SELECT k.orderId FROM OrderIdempotencyKeyJpaEntity k WHERE k.key = :key")
+    Optional<UUID> findOrderIdByKey(@Param("key") String key);
+}
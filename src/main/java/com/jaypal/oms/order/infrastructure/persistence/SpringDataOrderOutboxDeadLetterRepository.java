@@ -0,0 +1,7 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpringDataOrderOutboxDeadLetterRepository
+        extends JpaRepository<OrderOutboxDeadLetterJpaEntity, Long> {
+}
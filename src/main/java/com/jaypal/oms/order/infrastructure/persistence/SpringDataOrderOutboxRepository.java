@@ -0,0 +1,40 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface SpringDataOrderOutboxRepository
+        extends JpaRepository<OrderOutboxJpaEntity, Long> {
+
+    /**
+     * Locks and returns the oldest outbox rows that are neither claimed (claim
+     * still running at {@code now}) nor locked by another relay worker.
+     *
+     * Must run inside a transaction, followed by {@link #markClaimed} in the
+     * same one; the row locks only cover the claim itself.
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox
+            WHERE claimed_until IS NULL OR claimed_until < :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OrderOutboxJpaEntity> claimBatch(Instant now, int limit);
+
+    /**
+     * Hides claimed rows from other workers until {@code claimedUntil}.
+     *
+     * @return number of rows claimed
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderOutboxJpaEntity o SET o.claimedUntil = :claimedUntil WHERE o.id IN :ids")
+    int markClaimed(Collection<Long> ids, Instant claimedUntil);
+}
@@ -1,9 +1,170 @@
 package com.jaypal.oms.order.infrastructure.persistence;
 
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public interface SpringDataOrderRepository
         extends JpaRepository<OrderJpaEntity, UUID> {
+
+    /**
+     * Loads an order together with its items in a single round-trip.
+     *
+     * Returns one row per item as a projection, so nothing is added to the
+     * persistence context or dirty-checked at flush. Items come back in the
+     * order they were placed (item ids are assigned in list order on insert).
+     *
+     * @return the joined rows, empty if the order does not exist
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.infrastructure.persistence.OrderRow(
+                o.orderId, o.customerId, o.status, o.subtotal, o.createdAt,
+                i.sku, i.quantity, i.unitPrice, i.lineTotal)
+            FROM OrderJpaEntity o
+            JOIN OrderItemJpaEntity i ON i.orderId = o.orderId
+            WHERE o.orderId = :orderId
+            ORDER BY i.id
+            """)
+    List<OrderRow> findWithItemsById(UUID orderId);
+
+    /**
+     * Same as {@link #findWithItemsById}, but only if the order belongs to
+     * {@code customerId}: the owner check is part of the query.
+     *
+     * @return the joined rows, empty if the order does not exist or is not the customer's
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.infrastructure.persistence.OrderRow(
+                o.orderId, o.customerId, o.status, o.subtotal, o.createdAt,
+                i.sku, i.quantity, i.unitPrice, i.lineTotal)
+            FROM OrderJpaEntity o
+            JOIN OrderItemJpaEntity i ON i.orderId = o.orderId
+            WHERE o.orderId = :orderId
+              AND o.customerId = :customerId
+            ORDER BY i.id
+            """)
+    List<OrderRow> findWithItemsByIdAndCustomerId(UUID orderId, String customerId);
+
+    /**
+     * Writes a status transition as a single UPDATE, without loading the row.
+     *
+     * The persistence context is cleared afterwards so that later reads in the
+     * same transaction do not see a stale status. Joins the caller's transaction,
+     * or runs in its own when called from a non-transactional saga step.
+     *
+     * @return number of rows updated (0 if the order does not exist)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderJpaEntity o SET o.status = :status WHERE o.orderId = :orderId")
+    int updateStatus(UUID orderId, String status);
+
+    /**
+     * Compare-and-set variant of {@link #updateStatus}: updates the row only
+     * while it is still in {@code expected}. The row lock taken by the UPDATE
+     * serialises concurrent transitions; the loser re-evaluates the predicate
+     * against the committed status and updates nothing.
+     *
+     * @return 1 if the transition applied, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE OrderJpaEntity o SET o.status = :next
+            WHERE o.orderId = :orderId AND o.status = :expected
+            """)
+    int compareAndSetStatus(UUID orderId, String expected, String next);
+
+    /**
+     * {@link #compareAndSetStatus} restricted to orders placed by {@code customerId}.
+     *
+     * @return 1 if the transition applied, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE OrderJpaEntity o SET o.status = :next
+            WHERE o.orderId = :orderId AND o.customerId = :customerId AND o.status = :expected
+            """)
+    int compareAndSetStatusForCustomer(UUID orderId, String customerId, String expected, String next);
+
+    /**
+     * Keyset scan over idx_orders_status_created_at: orders in {@code status}
+     * created before {@code cutoff}, strictly after the (createdAt, orderId) cursor.
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.application.port.out.OrderRepositoryPort$OrderKey(
+                o.orderId, o.createdAt)
+            FROM OrderJpaEntity o
+            WHERE o.status = :status
+              AND o.createdAt < :cutoff
+              AND (o.createdAt > :afterCreatedAt
+                   OR (o.createdAt = :afterCreatedAt AND o.orderId > :afterOrderId))
+            ORDER BY o.createdAt, o.orderId
+            """)
+    List<OrderKey> findKeysByStatusCreatedBefore(String status, Instant cutoff,
+                                                 Instant afterCreatedAt, UUID afterOrderId,
+                                                 Pageable page);
+
+    long countByStatusAndCreatedAtBefore(String status, Instant cutoff);
+
+    /**
+     * Keyset scan over idx_orders_status_created_at: orders in {@code status}
+     * created at or after {@code from}, strictly before the (createdAt, orderId)
+     * cursor, newest first. Reads only header columns.
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.infrastructure.persistence.OrderSummaryRow(
+                o.orderId, o.status, o.subtotal, o.createdAt)
+            FROM OrderJpaEntity o
+            WHERE o.status = :status
+              AND o.createdAt >= :from
+              AND (o.createdAt < :beforeCreatedAt
+                   OR (o.createdAt = :beforeCreatedAt AND o.orderId < :beforeOrderId))
+            ORDER BY o.createdAt DESC, o.orderId DESC
+            """)
+    List<OrderSummaryRow> findSummariesByStatus(String status, Instant from,
+                                                Instant beforeCreatedAt, UUID beforeOrderId,
+                                                Pageable page);
+
+    /**
+     * Same scan as {@link #findSummariesByStatus} over idx_orders_created_at,
+     * for any status.
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.infrastructure.persistence.OrderSummaryRow(
+                o.orderId, o.status, o.subtotal, o.createdAt)
+            FROM OrderJpaEntity o
+            WHERE o.createdAt >= :from
+              AND (o.createdAt < :beforeCreatedAt
+                   OR (o.createdAt = :beforeCreatedAt AND o.orderId < :beforeOrderId))
+            ORDER BY o.createdAt DESC, o.orderId DESC
+            """)
+    List<OrderSummaryRow> findSummaries(Instant from,
+                                        Instant beforeCreatedAt, UUID beforeOrderId,
+                                        Pageable page);
+
+    /**
+     * Keyset scan over idx_orders_customer_created_at: one customer's orders
+     * strictly before the (createdAt, orderId) cursor, newest first.
+     */
+    @Query("""
+            SELECT new com.jaypal.oms.order.infrastructure.persistence.OrderSummaryRow(
+                o.orderId, o.status, o.subtotal, o.createdAt)
+            FROM OrderJpaEntity o
+            WHERE o.customerId = :customerId
+              AND (o.createdAt < :beforeCreatedAt
+                   OR (o.createdAt = :beforeCreatedAt AND o.orderId < :beforeOrderId))
+            ORDER BY o.createdAt DESC, o.orderId DESC
+            """)
+    List<OrderSummaryRow> findSummariesByCustomerId(String customerId,
+                                                    Instant beforeCreatedAt, UUID beforeOrderId,
+                                                    Pageable page);
 }
@@ -1,19 +1,24 @@
 package com.jaypal.oms.order.infrastructure.saga;
 
 import com.jaypal.oms.inventory.application.usecase.ReleaseStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReservationExpiryUseCase;
 import com.jaypal.oms.inventory.application.usecase.ReserveStockUseCase;
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
 import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.event.OrderCancelledEvent;
 import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
 import com.jaypal.oms.order.domain.event.StockReservationFailedEvent;
 import com.jaypal.oms.order.domain.event.StockReservedEvent;
 import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import com.jaypal.oms.shared.kernel.DomainException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -24,11 +29,13 @@ import java.util.UUID;
  * Saga Pattern Flow:
  *
  * 1. Customer places order
- *    → PlaceOrderUseCase creates order (PENDING) and publishes OrderPlacedEvent
+ *    → PlaceOrderUseCase creates order (PENDING) and records OrderPlacedEvent in the outbox
+ *    → OrderOutboxRelay dispatches it once the order has committed
  *
- * 2. Saga receives OrderPlacedEvent
+ * 2. Saga receives OrderPlacedEvent (from the relay, on the saga executor -
+ *    never on the request thread)
  *    → Calls InventoryModule.reserve() to reserve stock
- *    → Inventory module publishes StockReservedEvent or StockReservationFailedEvent
+ *    → Saga continues with the StockReserved or StockReservationFailed step
  *
  * 3a. Happy Path: StockReservedEvent received
  *     → Order transitions PENDING → CONFIRMED
@@ -42,10 +49,13 @@ import java.util.UUID;
  * Key Characteristics:
  * - Orchestrator-driven (centralized coordination)
  * - Event-sourced (all state changes via events)
- * - Transactional (each handler in its own transaction)
+ * - Asynchronous (runs on the bounded saga executor, see SagaExecutorConfig)
+ * - Transactional (each step in its own local transaction)
  * - Idempotent (safe to replay events)
  * - Observable (logs all saga steps)
- * - Timeout handling (external scheduler for stuck orders)
+ * - Timeout handling (StuckOrderSweeper recovers stuck orders and expired reservations)
+ * - Completes OrderCompletionRegistry handles once an order is confirmed or
+ *   cancelled, for placements waiting on the outcome
  */
 @Slf4j
 @Component
@@ -54,7 +64,9 @@ public class OrderSagaOrchestrator {
 
     private final ReserveStockUseCase reserveStockUseCase;
     private final ReleaseStockUseCase releaseStockUseCase;
+    private final ReservationExpiryUseCase reservationExpiryUseCase;
     private final OrderRepositoryPort orderRepository;
+    private final OrderCompletionRegistry orderCompletions;
 
     /**
      * Handle OrderPlacedEvent
@@ -62,11 +74,19 @@ public class OrderSagaOrchestrator {
      * Entry point for the order saga.
      * Initiates inventory reservation for the order.
      *
-     * If reservation fails, StockReservationFailedEvent will be published
-     * by the inventory module and handled by handleStockReservationFailed().
+     * Delivered by the outbox relay, which only sees committed orders, on the
+     * saga executor so that reservation (including optimistic-lock retry
+     * backoff) stays out of request latency. Runs synchronously there: the
+     * relay deletes the outbox row only once this returns.
+     * Not transactional itself: the reservation commits in its own transaction
+     * before the order is confirmed or cancelled in the next step.
+     *
+     * Only business failures (unknown SKU, insufficient stock) cancel the
+     * order. Anything else, such as a database or pool timeout or exhausted
+     * optimistic-lock retries, propagates, so the relay keeps the event and
+     * redelivers it; reservation is idempotent.
      */
     @EventListener
-    @Transactional
     public void handleOrderPlaced(OrderPlacedEvent event) {
         UUID orderId = event.getOrderId();
         Map<String, Integer> skuQuantities = event.getSkuQuantities();
@@ -80,9 +100,6 @@ public class OrderSagaOrchestrator {
 
             reserveStockUseCase.reserve(orderId, skuQuantities);
 
-            log.debug("Saga: Stock reservation succeeded for order: {}", orderId);
-            // Inventory module will publish StockReservedEvent
-
         } catch (IllegalArgumentException e) {
             // SKU not found - publish failure event manually
             log.warn("Saga: Stock reservation failed (SKU not found) for order: {} - {}",
@@ -90,13 +107,18 @@ public class OrderSagaOrchestrator {
             handleStockReservationFailed(
                     new StockReservationFailedEvent(orderId, "SKU not found: " + e.getMessage())
             );
-        } catch (Exception e) {
-            // Other failures (insufficient stock, optimistic lock exhaustion, etc.)
+            return;
+        } catch (DomainException e) {
+            // Insufficient stock, invalid quantity
             log.warn("Saga: Stock reservation failed for order: {} - {}", orderId, e.getMessage());
             handleStockReservationFailed(
                     new StockReservationFailedEvent(orderId, "Stock reservation failed: " + e.getMessage())
             );
+            return;
         }
+
+        log.debug("Saga: Stock reservation succeeded for order: {}", orderId);
+        handleStockReserved(new StockReservedEvent(orderId, skuQuantities));
     }
 
     /**
@@ -104,32 +126,50 @@ public class OrderSagaOrchestrator {
      *
      * Called when inventory successfully reserves stock.
      * Confirms the order and completes the saga successfully.
+     *
+     * The confirmation is a single PENDING → CONFIRMED compare-and-set, so a
+     * cancellation that lands while stock is being reserved is never
+     * overwritten. Only when it does not apply is the order read, to tell a
+     * cancellation (compensate) from a replay (nothing to do).
+     *
+     * Not transactional: it is mostly invoked directly from
+     * handleOrderPlaced, where a proxy would not apply anyway. Each step
+     * (confirm, retain, release) commits on its own and is idempotent, so a
+     * failure part-way propagates and is completed by the redelivery.
      */
     @EventListener
-    @Transactional
     public void handleStockReserved(StockReservedEvent event) {
         UUID orderId = event.getOrderId();
 
         log.info("Saga: StockReservedEvent received for order: {}", orderId);
 
         try {
-            // Load order
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+            if (orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED)) {
+                log.info("Saga: Order confirmed successfully: {}", orderId);
+                // Saga completes - order is now CONFIRMED and ready for fulfillment
+                orderCompletions.completeAfterCommit(orderId, OrderStatus.CONFIRMED);
+
+                // Confirmed orders keep their stock past the reservation timeout
+                retainReservation(orderId);
+                return;
+            }
 
-            log.debug("Saga: Order loaded (status: {}) for confirmation: {}",
-                    order.getStatus(), orderId);
+            OrderStatus status = orderRepository.findById(orderId)
+                    .map(Order::getStatus)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
-            // Transition to CONFIRMED
-            order.confirm();
-            orderRepository.save(order);
+            if (status == OrderStatus.CANCELLED) {
+                // Cancelled while stock was being reserved: compensate
+                log.info("Saga: Order cancelled during reservation, releasing stock: {}", orderId);
+                releaseStockUseCase.release(orderId);
+                orderCompletions.completeAfterCommit(orderId, OrderStatus.CANCELLED);
+                return;
+            }
 
-            log.info("Saga: Order confirmed successfully: {}", orderId);
-            // Saga completes - order is now CONFIRMED and ready for fulfillment
+            log.debug("Saga: Order already {}, skipping confirmation: {}", status, orderId);
 
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
             log.error("Saga: Failed to confirm order: {} - {}", orderId, e.getMessage(), e);
-            // Order stuck in PENDING - external scheduler should identify and cleanup
         }
     }
 
@@ -141,9 +181,12 @@ public class OrderSagaOrchestrator {
      *
      * Compensation: No inventory release needed since stock was never reserved.
      * Just need to mark order as CANCELLED and notify customer.
+     *
+     * The cancellation is a single PENDING → CANCELLED compare-and-set; an
+     * order that has already left PENDING is left as it is. Not
+     * transactional, for the same reason as handleStockReserved.
      */
     @EventListener
-    @Transactional
     public void handleStockReservationFailed(StockReservationFailedEvent event) {
         UUID orderId = event.getOrderId();
         String reason = event.getReason();
@@ -152,70 +195,129 @@ public class OrderSagaOrchestrator {
                 orderId, reason);
 
         try {
-            // Load order
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
-
-            log.debug("Saga: Order loaded (status: {}) for cancellation: {}",
-                    order.getStatus(), orderId);
-
-            // Transition to CANCELLED with compensation reason
-            order.cancelIfNotAlreadyCancelled("Stock reservation failed: " + reason);
-            orderRepository.save(order);
+            if (!orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)) {
+                log.debug("Saga: Order missing or no longer PENDING, skipping cancellation: {}", orderId);
+                return;
+            }
 
             log.info("Saga: Order cancelled due to stock failure: {} - reason: {}", orderId, reason);
+            orderCompletions.completeAfterCommit(orderId, OrderStatus.CANCELLED);
             // Compensation complete - no inventory release needed (never reserved)
             // Customer notification would be handled by order service (out of scope)
 
         } catch (Exception e) {
             log.error("Saga: Failed to cancel order: {} - {}", orderId, e.getMessage(), e);
-            // Order stuck in PENDING - external scheduler should identify and cleanup
+            // Order stuck in PENDING - StuckOrderSweeper will time it out
         }
     }
 
     /**
-     * Timeout handler (external scheduled job)
+     * Handle OrderCancelledEvent
      *
-     * For orders stuck in PENDING state for > X minutes:
+     * Compensation for cancelled orders: returns whatever stock the order holds
+     * to inventory. Delivered by the outbox relay once the cancellation has
+     * committed, on the saga executor; a no-op for orders that never reserved
+     * anything.
+     */
+    @EventListener
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+        UUID orderId = event.getOrderId();
+
+        log.info("Saga: OrderCancelledEvent received for order: {}", orderId);
+
+        try {
+            releaseStockUseCase.release(orderId);
+            log.info("Saga: Stock released for cancelled order: {}", orderId);
+        } catch (Exception e) {
+            log.error("Saga: Failed to release stock for cancelled order: {} - {}",
+                    orderId, e.getMessage(), e);
+            // Reservation stays in the ledger until it expires and is swept
+        }
+    }
+
+    /**
+     * Timeout handler (called by StuckOrderSweeper)
+     *
+     * For orders stuck in PENDING state for longer than the sweeper threshold:
      * - Likely cause: StockReservedEvent lost or listener crashed
-     * - Action: Manually release stock and cancel order
-     * - Trigger: External @Scheduled task checks DB every 5 minutes
+     * - Action: Cancel the order, then release whatever stock it holds
      *
      * This is a safety net for saga failures and network issues.
+     *
+     * The cancellation is a PENDING → CANCELLED compare-and-set, taken before
+     * the release: a confirmation racing with the timeout either wins (the
+     * order stays CONFIRMED and keeps its stock) or loses (the saga sees
+     * CANCELLED and compensates). If the release fails, the now-cancelled
+     * order's hold is released by the expired-reservation sweep.
+     *
+     * @return true if the order was cancelled or no longer needed recovery,
+     *         false if recovery failed part-way
      */
-    public void handleOrderTimeout(UUID orderId) {
+    public boolean handleOrderTimeout(UUID orderId) {
         log.warn("Saga: Order timeout detected (stuck in PENDING): {}", orderId);
 
         try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
-
-            if (order.getStatus() != com.jaypal.oms.order.domain.model.OrderStatus.PENDING) {
-                log.debug("Saga: Order no longer in PENDING state, skipping timeout handling: {}", orderId);
-                return;
-            }
-
-            // Release any reserved stock (idempotent)
-            try {
-                releaseStockUseCase.release(orderId, order.getItems().stream()
-                        .collect(java.util.stream.Collectors.toMap(
-                                item -> item.getSku(),
-                                item -> item.getQuantity()
-                        )));
-            } catch (Exception e) {
-                log.debug("Saga: Stock release attempt (may not have been reserved): {} - {}",
-                        orderId, e.getMessage());
+            if (!orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)) {
+                log.debug("Saga: Order missing or no longer PENDING, skipping timeout handling: {}", orderId);
+                return true;
             }
+            orderCompletions.completeAfterCommit(orderId, OrderStatus.CANCELLED);
 
-            // Cancel order
-            order.cancelIfNotAlreadyCancelled("Order timeout - saga failure recovery");
-            orderRepository.save(order);
+            // Release whatever the reservation ledger says the order holds (idempotent)
+            releaseStockUseCase.release(orderId);
 
             log.info("Saga: Order timeout recovery complete: {}", orderId);
+            return true;
 
         } catch (Exception e) {
             log.error("Saga: Failed to recover from timeout for order: {} - {}",
                     orderId, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Expired reservation handler (called by StuckOrderSweeper)
+     *
+     * Stock held past app.inventory.reservation-timeout-hours:
+     * - Order PENDING → timed out like any stuck order
+     * - Order CONFIRMED/COMPLETED → confirmation outran the retain step; retain now
+     * - Order CANCELLED or missing → orphaned hold; release it
+     *
+     * @return true if the hold was resolved, false if it should be retried
+     */
+    public boolean handleReservationExpired(UUID orderId) {
+        log.warn("Saga: Reservation expired for order: {}", orderId);
+
+        try {
+            Optional<OrderStatus> status = orderRepository.findById(orderId).map(Order::getStatus);
+
+            if (status.isPresent() && status.get() == OrderStatus.PENDING) {
+                return handleOrderTimeout(orderId);
+            }
+            if (status.isPresent() && status.get() != OrderStatus.CANCELLED) {
+                reservationExpiryUseCase.retain(orderId);
+                return true;
+            }
+
+            releaseStockUseCase.release(orderId);
+            log.info("Saga: Released orphaned reservation of order: {}", orderId);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Saga: Failed to resolve expired reservation for order: {} - {}",
+                    orderId, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void retainReservation(UUID orderId) {
+        try {
+            reservationExpiryUseCase.retain(orderId);
+        } catch (Exception e) {
+            // The sweeper retains it when the hold expires
+            log.warn("Saga: Failed to retain reservation for confirmed order: {} - {}",
+                    orderId, e.getMessage());
         }
     }
 }
@@ -0,0 +1,195 @@
+package com.jaypal.oms.order.infrastructure.saga;
+
+import com.jaypal.oms.inventory.application.usecase.ReservationExpiryUseCase;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import com.jaypal.oms.shared.infrastructure.lock.SchedulerLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Stuck Order Sweeper
+ *
+ * Periodically recovers orders the saga left behind.
+ *
+ * Each sweep:
+ * 1. Pages through PENDING orders older than {@code stuck-after-minutes}
+ *    (keyset on (created_at, order_id), served by idx_orders_status_created_at)
+ *    and times each one out via OrderSagaOrchestrator.handleOrderTimeout
+ * 2. Resolves reservations held past app.inventory.reservation-timeout-hours
+ *    via OrderSagaOrchestrator.handleReservationExpired
+ *
+ * One instance sweeps at a time: each sweep first takes the "stuck-order-sweeper"
+ * lease in scheduler_locks ({@code lease-ms}); instances that cannot get it skip
+ * the run. A sweep that overruns its lease stays safe, because every recovery
+ * step is a conditional transition or takes the ledger row locks.
+ *
+ * Orders of a batch are recovered in parallel on at most {@code concurrency}
+ * virtual threads. Orders whose recovery fails stay where they are and are
+ * retried on the next sweep; the keyset cursor keeps them from being retried
+ * within the same sweep.
+ *
+ * Metrics:
+ * - saga.sweeper.stuck (gauge): stuck orders found by the last sweep
+ * - saga.sweeper.recovered (counter): orders and holds recovered
+ * - saga.sweeper.failed (counter): recovery attempts that failed
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class StuckOrderSweeper {
+
+    static final String LEASE = "stuck-order-sweeper";
+
+    private final OrderSagaOrchestrator saga;
+    private final OrderRepositoryPort orderRepository;
+    private final ReservationExpiryUseCase reservationExpiryUseCase;
+    private final Clock clock;
+    private final SchedulerLock schedulerLock;
+    private final Duration lease;
+    private final Duration stuckAfter;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    private final AtomicLong lastStuckCount = new AtomicLong();
+    private final Counter recovered;
+    private final Counter failed;
+
+    public StuckOrderSweeper(
+            OrderSagaOrchestrator saga,
+            OrderRepositoryPort orderRepository,
+            ReservationExpiryUseCase reservationExpiryUseCase,
+            Clock clock,
+            SchedulerLock schedulerLock,
+            MeterRegistry meterRegistry,
+            @Value("${app.order.sweeper.lease-ms:600000}") long leaseMs,
+            @Value("${app.order.sweeper.stuck-after-minutes:30}") long stuckAfterMinutes,
+            @Value("${app.order.sweeper.batch-size:200}") int batchSize,
+            @Value("${app.order.sweeper.concurrency:8}") int concurrency) {
+        this.saga = saga;
+        this.orderRepository = orderRepository;
+        this.reservationExpiryUseCase = reservationExpiryUseCase;
+        this.clock = clock;
+        this.schedulerLock = schedulerLock;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.stuckAfter = Duration.ofMinutes(stuckAfterMinutes);
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("order-sweeper-", 0).factory());
+
+        Gauge.builder("saga.sweeper.stuck", lastStuckCount, AtomicLong::get)
+                .description("PENDING orders past the stuck threshold found by the last sweep")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("saga.sweeper.recovered")
+                .description("Stuck orders and expired reservations recovered")
+                .register(meterRegistry);
+        this.failed = Counter.builder("saga.sweeper.failed")
+                .description("Stuck order recovery attempts that failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs one sweep if this instance gets the lease. The next one starts
+     * {@code interval-ms} after this one finishes.
+     */
+    @Scheduled(fixedDelayString = "${app.order.sweeper.interval-ms:60000}",
+            initialDelayString = "${app.order.sweeper.interval-ms:60000}")
+    public void sweep() {
+        try {
+            if (!schedulerLock.tryAcquire(LEASE, lease)) {
+                log.debug("Sweeper: another instance is sweeping, skipping this run");
+                return;
+            }
+            try {
+                sweepStuckOrders();
+                sweepExpiredReservations();
+            } finally {
+                schedulerLock.release(LEASE);
+            }
+        } catch (Exception e) {
+            log.error("Stuck order sweep failed, will retry on next run: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Times out every PENDING order created before now - stuck-after-minutes.
+     *
+     * @return number of stuck orders found
+     */
+    public long sweepStuckOrders() {
+        Instant cutoff = clock.instant().minus(stuckAfter);
+        long found = 0;
+        OrderKey cursor = null;
+        List<OrderKey> page;
+        do {
+            page = orderRepository.findPendingCreatedBefore(cutoff, cursor, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            found += page.size();
+            recoverAll(page.stream().map(OrderKey::orderId).toList(), saga::handleOrderTimeout);
+            cursor = page.get(page.size() - 1);
+        } while (page.size() == batchSize);
+
+        lastStuckCount.set(found);
+        if (found > 0) {
+            log.warn("Sweeper: {} orders stuck in PENDING for more than {}", found, stuckAfter);
+        }
+        return found;
+    }
+
+    /**
+     * Resolves one batch of reservations held past the reservation timeout.
+     * Resolved holds leave the expiry index, so the next sweep picks up the rest.
+     *
+     * @return number of expired holds found
+     */
+    public int sweepExpiredReservations() {
+        List<UUID> expired = reservationExpiryUseCase.findExpired(batchSize);
+        if (!expired.isEmpty()) {
+            log.warn("Sweeper: {} orders hold expired reservations", expired.size());
+            recoverAll(expired, saga::handleReservationExpired);
+        }
+        return expired.size();
+    }
+
+    public long getLastStuckCount() {
+        return lastStuckCount.get();
+    }
+
+    private void recoverAll(List<UUID> orderIds, Predicate<UUID> recovery) {
+        CompletableFuture.allOf(orderIds.stream()
+                        .map(orderId -> CompletableFuture.runAsync(() -> {
+                            if (recovery.test(orderId)) {
+                                recovered.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        }, workers))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.close();
+    }
+}
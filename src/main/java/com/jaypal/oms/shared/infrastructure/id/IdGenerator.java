@@ -1,4 +1,14 @@
 package com.jaypal.oms.shared.infrastructure.id;
 
-public class IdGenerator {
+import java.util.UUID;
+
+/**
+ * Generates identifiers for new aggregates.
+ *
+ * Implementations must be thread-safe. See {@link IdGeneratorType} for the
+ * available strategies.
+ */
+public interface IdGenerator {
+
+    UUID newId();
 }
@@ -0,0 +1,27 @@
+package com.jaypal.oms.shared.infrastructure.id;
+
+import java.util.UUID;
+
+/**
+ * How new identifiers are generated (app.order.id-generator).
+ */
+public enum IdGeneratorType {
+
+    /**
+     * Time-ordered UUIDv7: consecutive ids land next to each other in a
+     * B-tree index, so inserts append to the right-most pages.
+     */
+    UUID_V7,
+
+    /**
+     * Fully random UUIDv4: inserts are scattered across the whole index.
+     */
+    RANDOM;
+
+    public IdGenerator create() {
+        return switch (this) {
+            case UUID_V7 -> new UuidV7Generator();
+            case RANDOM -> UUID::randomUUID;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.jaypal.oms.shared.infrastructure.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * UUIDv7 generator (RFC 9562), monotonic across threads.
+ *
+ * Layout: 48-bit Unix millisecond timestamp, version 7, a 12-bit counter
+ * (rand_a), variant bits, then 62 random bits. Timestamp and counter are
+ * kept together in one AtomicLong and advanced with compare-and-set, so every
+ * id is strictly greater than the previous one without taking a lock:
+ * - a new millisecond restarts the counter at 0
+ * - within a millisecond the counter is incremented; after 4096 ids it
+ *   carries into the timestamp, which then runs slightly ahead of the clock
+ * - a clock that steps backwards is ignored until it catches up again
+ *
+ * The random bits come from ThreadLocalRandom: ids are unique and ordered,
+ * not unguessable.
+ */
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private final LongSupplier clock;
+    /** (timestamp << COUNTER_BITS) | counter of the last id handed out. */
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock current time in Unix milliseconds
+     */
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID newId() {
+        long next;
+        long previous;
+        do {
+            previous = last.get();
+            next = Math.max(clock.getAsLong() << COUNTER_BITS, previous + 1);
+        } while (!last.compareAndSet(previous, next));
+
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,67 @@
+package com.jaypal.oms.shared.infrastructure.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Scheduler Lock
+ *
+ * Database lease that lets one instance at a time run a scheduled job. A lease
+ * is a row in scheduler_locks, taken with a conditional UPDATE (or the first
+ * INSERT) and held until it runs out or is released, so a crashed holder
+ * blocks the job for at most one lease period.
+ *
+ * The lease should outlast a run. If a run overruns it another instance may
+ * start, so jobs gated by it must still be safe to run concurrently.
+ */
+@Slf4j
+@Component
+public class SchedulerLock {
+
+    private final SpringDataSchedulerLockRepository repository;
+    private final Clock clock;
+    private final String owner;
+
+    @Autowired
+    public SchedulerLock(SpringDataSchedulerLockRepository repository, Clock clock) {
+        this(repository, clock, ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    SchedulerLock(SpringDataSchedulerLockRepository repository, Clock clock, String owner) {
+        this.repository = repository;
+        this.clock = clock;
+        this.owner = owner;
+    }
+
+    /**
+     * @param name job name
+     * @param leaseFor how long the lease is held unless released
+     * @return true if this instance now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration leaseFor) {
+        Instant now = clock.instant();
+        Instant until = now.plus(leaseFor);
+        if (repository.acquire(name, owner, now, until) == 1) {
+            return true;
+        }
+        try {
+            repository.saveAndFlush(new SchedulerLockJpaEntity(name, owner, until));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Row exists and another instance's lease is still running
+            log.debug("Lease {} is held by another instance", name);
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        repository.release(name, owner, clock.instant());
+    }
+}
@@ -0,0 +1,65 @@
+package com.jaypal.oms.shared.infrastructure.lock;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job: the instance named in locked_by runs it until
+ * locked_until.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLockJpaEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "name", nullable = false, updatable = false, length = 64)
+    private String name;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    /**
+     * Rows built here are always inserts: a duplicate key must fail rather than
+     * be merged over another instance's lease.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    protected SchedulerLockJpaEntity() {
+    }
+
+    public SchedulerLockJpaEntity(String name, String lockedBy, Instant lockedUntil) {
+        this.name = name;
+        this.lockedBy = lockedBy;
+        this.lockedUntil = lockedUntil;
+    }
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jaypal.oms.shared.infrastructure.lock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface SpringDataSchedulerLockRepository extends JpaRepository<SchedulerLockJpaEntity, String> {
+
+    /**
+     * Takes over a lease that has run out, or extends one already held by {@code owner}.
+     *
+     * @return 1 if the lease is now held by {@code owner}, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE SchedulerLockJpaEntity l
+            SET l.lockedBy = :owner, l.lockedUntil = :until
+            WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)
+            """)
+    int acquire(String name, String owner, Instant now, Instant until);
+
+    /**
+     * Ends a lease early, if still held by {@code owner}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE SchedulerLockJpaEntity l
+            SET l.lockedUntil = :now
+            WHERE l.name = :name AND l.lockedBy = :owner
+            """)
+    int release(String name, String owner, Instant now);
+}
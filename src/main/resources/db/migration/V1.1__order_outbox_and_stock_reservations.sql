@@ -0,0 +1,21 @@
+-- Transactional outbox for order events, relayed to the saga
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id         BIGINT                      NOT NULL,
+    event_type VARCHAR(64)                 NOT NULL,
+    order_id   UUID                        NOT NULL,
+    payload    VARCHAR(8000)               NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_outbox PRIMARY KEY (id)
+);
+
+-- Stock held per order and SKU; expires_at is null once the order is confirmed
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    order_id    UUID                        NOT NULL,
+    sku         VARCHAR(255)                NOT NULL,
+    quantity    INTEGER                     NOT NULL,
+    reserved_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_stock_reservations PRIMARY KEY (order_id, sku)
+);
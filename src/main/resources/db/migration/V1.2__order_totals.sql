@@ -0,0 +1,24 @@
+-- Order subtotal and line totals, stored at placement.
+-- Databases baselined at V1 have orders without them: add the columns as
+-- nullable, backfill line_total = unit_price * quantity (what placement
+-- computes) and subtotal = sum of the order's line totals, then require them.
+
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS line_total NUMERIC(38, 2);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS subtotal NUMERIC(38, 2);
+
+UPDATE order_items
+SET line_total = unit_price * quantity
+WHERE line_total IS NULL;
+
+-- One aggregate pass instead of a per-order subquery (order_items.order_id
+-- is not indexed until V2)
+UPDATE orders o
+SET subtotal = t.total
+FROM (SELECT order_id, SUM(line_total) AS total FROM order_items GROUP BY order_id) t
+WHERE o.order_id = t.order_id AND o.subtotal IS NULL;
+
+-- Orders without items
+UPDATE orders SET subtotal = 0 WHERE subtotal IS NULL;
+
+ALTER TABLE order_items ALTER COLUMN line_total SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN subtotal SET NOT NULL;
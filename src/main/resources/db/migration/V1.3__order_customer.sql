@@ -0,0 +1,5 @@
+-- Customer who placed the order (JWT subject), recorded at placement.
+-- Nullable: orders placed before this version have no recorded owner and
+-- nothing to backfill it from, so they stay out of GET /orders/mine and
+-- cannot be cancelled through the owner-checked path.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS customer_id VARCHAR(255);
@@ -0,0 +1,41 @@
+-- Baseline schema: the tables as they existed before migrations were introduced.
+-- Existing databases are baselined at this version and skip it, so it must not
+-- change; later tables and columns go in V1.1+.
+
+CREATE TABLE products (
+    sku    VARCHAR(255)   NOT NULL,
+    name   VARCHAR(255)   NOT NULL,
+    price  NUMERIC(38, 2) NOT NULL,
+    active BOOLEAN        NOT NULL,
+    CONSTRAINT pk_products PRIMARY KEY (sku)
+);
+
+CREATE INDEX idx_product_active ON products (active);
+CREATE UNIQUE INDEX idx_product_sku ON products (sku);
+
+CREATE TABLE inventory (
+    sku             VARCHAR(255) NOT NULL,
+    available_stock INTEGER      NOT NULL,
+    reserved_stock  INTEGER      NOT NULL,
+    version         BIGINT       NOT NULL,
+    CONSTRAINT pk_inventory PRIMARY KEY (sku)
+);
+
+CREATE TABLE orders (
+    order_id   UUID                        NOT NULL,
+    status     VARCHAR(255)                NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_orders PRIMARY KEY (order_id)
+);
+
+-- Hibernate's default pooled sequence generators (allocation size 50)
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_items (
+    id         BIGINT         NOT NULL,
+    order_id   UUID           NOT NULL,
+    sku        VARCHAR(255)   NOT NULL,
+    quantity   INTEGER        NOT NULL,
+    unit_price NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_order_items PRIMARY KEY (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes behind the hot lookups, and storage settings for hot-updated rows.
+-- Index names match the @Index declarations on the JPA entities.
+-- The orders and order_items indexes are built without blocking writes in V8.
+
+-- Keyset scan of active products; supersedes the baseline index on active alone
+CREATE INDEX idx_product_active_sku ON products (active, sku);
+DROP INDEX IF EXISTS idx_product_active;
+
+-- Expired-reservation sweeps
+CREATE INDEX idx_stock_reservations_expires_at ON stock_reservations (expires_at);
+
+-- Inventory rows are updated on every reservation and release, and none of
+-- the updated columns is indexed: leaving free space on each page lets
+-- Postgres write the new row version in place (HOT update) instead of
+-- touching the primary key index and bloating the table.
+-- Applies to pages written from now on; existing pages keep their layout
+-- until the table is rewritten (VACUUM FULL or pg_repack).
+ALTER TABLE inventory SET (fillfactor = 70);
@@ -0,0 +1,8 @@
+-- Idempotency-Key → order binding for retried POST /orders. The primary key
+-- rejects a second placement with the same key from any node.
+CREATE TABLE order_idempotency_keys (
+    idempotency_key VARCHAR(512)                NOT NULL,
+    order_id        UUID                        NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_idempotency_keys PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,12 @@
+-- Outbox rows the relay could not decode; moved here instead of being
+-- retried forever or silently dropped.
+CREATE TABLE order_outbox_dead_letter (
+    id         BIGINT                      NOT NULL,
+    event_type VARCHAR(64)                 NOT NULL,
+    order_id   UUID                        NOT NULL,
+    payload    VARCHAR(8000)               NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    failed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    error      VARCHAR(1000),
+    CONSTRAINT pk_order_outbox_dead_letter PRIMARY KEY (id)
+);
@@ -0,0 +1,7 @@
+-- Leases that keep scheduled jobs (the stuck-order sweeper) to one instance at a time
+CREATE TABLE scheduler_locks (
+    name         VARCHAR(64)                 NOT NULL,
+    locked_by    VARCHAR(255)                NOT NULL,
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_scheduler_locks PRIMARY KEY (name)
+);
@@ -0,0 +1,3 @@
+-- Relay claims are a lease instead of a transaction held open for the whole
+-- batch: claimed rows are skipped by other workers until claimed_until.
+ALTER TABLE order_outbox ADD COLUMN claimed_until TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,18 @@
+-- Indexes on the orders tables, built CONCURRENTLY so order writes keep
+-- flowing while they build. CONCURRENTLY cannot run inside a transaction,
+-- so this script runs outside one (see the .conf file alongside it).
+-- A failed concurrent build leaves an INVALID index behind: drop it before
+-- re-running; IF NOT EXISTS would otherwise keep the invalid one.
+
+-- Every order load and every new-order save reads items by order_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- Stuck-order sweeps, saga health and the status-filtered order listing;
+-- subtotal is carried so the listing is an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created_at ON orders (status, created_at, order_id, subtotal);
+
+-- Unfiltered order listing, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at, order_id, subtotal);
+
+-- Per-customer order history and the owner check on cancellation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_created_at ON orders (customer_id, created_at DESC, order_id DESC);
@@ -0,0 +1,151 @@
+package com.jaypal.oms;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Query-plan regression tests for the Flyway schema
+ *
+ * Migrates a PostgreSQL container, loads enough rows for the planner to
+ * prefer indexes over sequential scans, and asserts that the hot lookups
+ * use the indexes created by the migrations.
+ *
+ * Skipped when Docker is not available.
+ */
+@DisplayName("Schema Query Plan Tests")
+class SchemaQueryPlanTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+        jdbc.execute("""
+                INSERT INTO orders (order_id, customer_id, status, subtotal, created_at)
+                SELECT md5(g::text)::uuid,
+                       'customer-' || (g % 500),
+                       (ARRAY['PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED'])[g % 4 + 1],
+                       10.00,
+                       now() - g * interval '1 minute'
+                FROM generate_series(1, 20000) g
+                """);
+        jdbc.execute("""
+                INSERT INTO order_items (id, order_id, sku, quantity, unit_price, line_total)
+                SELECT g, md5((g / 3 + 1)::text)::uuid, 'SKU-' || (g % 100), 1, 5.00, 5.00
+                FROM generate_series(0, 59999) g
+                """);
+        jdbc.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should look up order items by order_id through its index")
+    void testItemsByOrderId() {
+        String plan = explain("SELECT * FROM order_items WHERE order_id = md5('42')::uuid");
+
+        assertThat(plan).contains("idx_order_items_order_id").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should hydrate an order with its items without sequential scans")
+    void testOrderWithItems() {
+        String plan = explain("""
+                SELECT o.order_id, o.status, i.sku, i.quantity, i.unit_price
+                FROM orders o JOIN order_items i ON i.order_id = o.order_id
+                WHERE o.order_id = md5('42')::uuid
+                """);
+
+        assertThat(plan)
+                .contains("pk_orders")
+                .contains("idx_order_items_order_id")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should scan orders by status and creation time through the listing index")
+    void testOrdersByStatusAndCreatedAt() {
+        String plan = explain("""
+                SELECT order_id, status, subtotal, created_at FROM orders
+                WHERE status = 'PENDING' AND created_at < now() - interval '30 minutes'
+                ORDER BY created_at, order_id
+                LIMIT 200
+                """);
+
+        assertThat(plan).contains("idx_orders_status_created_at").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should page a customer's orders through the customer index")
+    void testOrdersByCustomer() {
+        String plan = explain("""
+                SELECT order_id, status, subtotal, created_at FROM orders
+                WHERE customer_id = 'customer-7'
+                ORDER BY created_at DESC, order_id DESC
+                LIMIT 20
+                """);
+
+        assertThat(plan).contains("idx_orders_customer_created_at").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should leave free space in inventory pages for HOT updates")
+    void testInventoryFillfactor() {
+        List<String> options = jdbc.queryForList(
+                "SELECT unnest(reloptions) FROM pg_class WHERE relname = 'inventory'", String.class);
+
+        assertThat(options).contains("fillfactor=70");
+    }
+
+    @Test
+    @DisplayName("Should leave the concurrently built order indexes valid")
+    void testConcurrentIndexesValid() {
+        List<String> invalid = jdbc.queryForList("""
+                SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname IN ('idx_order_items_order_id', 'idx_orders_status_created_at',
+                                    'idx_orders_created_at', 'idx_orders_customer_created_at')
+                  AND NOT (i.indisvalid AND i.indisready)
+                """, String.class);
+        Integer built = jdbc.queryForObject("""
+                SELECT count(*) FROM pg_class
+                WHERE relname IN ('idx_order_items_order_id', 'idx_orders_status_created_at',
+                                  'idx_orders_created_at', 'idx_orders_customer_created_at')
+                """, Integer.class);
+
+        assertThat(invalid).isEmpty();
+        assertThat(built).isEqualTo(4);
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
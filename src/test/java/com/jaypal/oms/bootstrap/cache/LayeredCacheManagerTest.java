@@ -0,0 +1,268 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit Tests for LayeredCacheManager
+ *
+ * Uses an in-memory far tier standing in for Redis, shared by two "nodes",
+ * and delivers pub/sub invalidation messages by hand. Refresh-ahead needs the
+ * far TTL, so that test uses a Redis cache over a mocked writer.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LayeredCacheManager Unit Tests")
+class LayeredCacheManagerTest {
+
+    private static final String CHANNEL = "oms:cache:invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplateA;
+
+    @Mock
+    private StringRedisTemplate redisTemplateB;
+
+    private ConcurrentMapCacheManager far;
+    private SimpleMeterRegistry meterRegistry;
+    private LayeredCacheManager nodeA;
+    private LayeredCacheManager nodeB;
+    private CacheInvalidationBus busB;
+
+    @BeforeEach
+    void setUp() {
+        far = new ConcurrentMapCacheManager("products");
+        meterRegistry = new SimpleMeterRegistry();
+        nodeA = node(new CacheInvalidationBus(redisTemplateA, CHANNEL));
+        busB = new CacheInvalidationBus(redisTemplateB, CHANNEL);
+        nodeB = node(busB);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the near tier after one far hit")
+    void testGet_ReadThrough() {
+        far.getCache("products").put("SKU-A", "product-a");
+        Cache cache = nodeA.getCache("products");
+
+        assertThat(cache.get("SKU-A", String.class)).isEqualTo("product-a");
+        assertThat(cache.get("SKU-A", String.class)).isEqualTo("product-a");
+        assertThat(cache.get("SKU-MISSING")).isNull();
+
+        assertThat(farGets("hit")).isEqualTo(1);
+        assertThat(farGets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets")
+                .tags("cache", "products", "tier", "near", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop the near copy on other nodes when a key is evicted")
+    void testEvict_InvalidatesOtherNodes() {
+        nodeA.getCache("products").put("SKU-A", "v1");
+        Cache cacheB = nodeB.getCache("products");
+        assertThat(cacheB.get("SKU-A", String.class)).isEqualTo("v1");
+
+        // Node A updates the product: evict, then the next load caches v2 in the far tier
+        nodeA.getCache("products").evict("SKU-A");
+        far.getCache("products").put("SKU-A", "v2");
+        assertThat(cacheB.get("SKU-A", String.class)).isEqualTo("v1"); // stale until notified
+
+        deliverTo(busB, nodeB, publishedBy(redisTemplateA));
+
+        assertThat(cacheB.get("SKU-A", String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should clear other nodes' near tier and ignore its own messages")
+    void testClear_InvalidatesOtherNodes() {
+        far.getCache("products").put("SKU-A", "v1");
+        Cache cacheB = nodeB.getCache("products");
+        cacheB.get("SKU-A");
+        nodeA.getCache("products").clear();
+        String clearFromA = publishedBy(redisTemplateA);
+        assertThat(clearFromA).endsWith("|products|");
+
+        // A message node B published itself is ignored: the near copy survives
+        cacheB.evict("SKU-X");
+        deliverTo(busB, nodeB, publishedBy(redisTemplateB));
+        assertThat(cacheB.get("SKU-A", String.class)).isEqualTo("v1");
+
+        deliverTo(busB, nodeB, clearFromA);
+        assertThat(cacheB.get("SKU-A")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve bulk reads from the near tier and fetch only the rest from far")
+    void testGetAll_NearThenFar() {
+        far.getCache("products").put("SKU-A", "product-a");
+        far.getCache("products").put("SKU-B", "product-b");
+        BulkCache cache = (BulkCache) nodeA.getCache("products");
+        cache.get("SKU-A"); // warm the near tier
+
+        Map<Object, Object> found = cache.getAll(List.of("SKU-A", "SKU-B", "SKU-MISSING"));
+
+        assertThat(found).containsOnly(
+                Map.entry("SKU-A", "product-a"),
+                Map.entry("SKU-B", "product-b"));
+        assertThat(farGets("hit")).isEqualTo(2); // warm-up + SKU-B
+        assertThat(farGets("miss")).isEqualTo(1);
+
+        // Bulk writes land in both tiers
+        cache.putAll(Map.of("SKU-C", "product-c"));
+        assertThat(far.getCache("products").get("SKU-C", String.class)).isEqualTo("product-c");
+        far.getCache("products").evict("SKU-C");
+        assertThat(cache.get("SKU-C", String.class)).isEqualTo("product-c");
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses for a key into one load")
+    void testGet_SingleFlight() throws Exception {
+        Cache cache = nodeA.getCache("products");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "product-a";
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> pool.submit(() -> cache.get("SKU-A", loader)))
+                    .toList();
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (counter("cache.loads.coalesced") < 7 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("product-a");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(counter("cache.loads.coalesced")).isEqualTo(7);
+        assertThat(far.getCache("products").get("SKU-A", String.class)).isEqualTo("product-a");
+    }
+
+    @Test
+    @DisplayName("Should pass only the misses to the bulk loader and cache what it returns")
+    void testGetAll_LoadsMisses() {
+        far.getCache("products").put("SKU-A", "product-a");
+        BulkCache cache = (BulkCache) nodeA.getCache("products");
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        Map<Object, Object> found = cache.getAll(List.of("SKU-A", "SKU-B", "SKU-MISSING"), keys -> {
+            loaderCalls.incrementAndGet();
+            assertThat(keys).containsExactlyInAnyOrder("SKU-B", "SKU-MISSING");
+            return Map.of("SKU-B", "product-b");
+        });
+
+        assertThat(found).containsOnly(
+                Map.entry("SKU-A", "product-a"),
+                Map.entry("SKU-B", "product-b"));
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(far.getCache("products").get("SKU-B", String.class)).isEqualTo("product-b");
+        assertThat(far.getCache("products").get("SKU-MISSING")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refresh a hot entry in the background shortly before its far TTL expires")
+    void testGet_RefreshAhead() {
+        RedisCacheManager redis = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60)))
+                .initialCacheNames(Set.of("products"))
+                .build();
+        redis.afterPropertiesSet();
+        AtomicLong now = new AtomicLong();
+        // random 0.5: refresh once within 5s * ln(2) (about 3.5s) of expiry
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(1.0, Duration.ofSeconds(5), 100,
+                Runnable::run, now::get, () -> 0.5);
+        LayeredCacheManager manager = new LayeredCacheManager(redis,
+                Caffeine.newBuilder().maximumSize(100),
+                new CacheInvalidationBus(redisTemplateA, CHANNEL), null, policy, meterRegistry);
+        Cache cache = manager.getCache("products");
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = () -> "v" + loads.incrementAndGet();
+
+        assertThat(cache.get("SKU-A", loader)).isEqualTo("v1");
+
+        now.set(Duration.ofMinutes(50).toMillis());
+        assertThat(cache.get("SKU-A", loader)).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+
+        now.set(Duration.ofMinutes(60).minusSeconds(2).toMillis());
+        assertThat(cache.get("SKU-A", loader)).isEqualTo("v1"); // served while refreshing
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("SKU-A", String.class)).isEqualTo("v2");
+        assertThat(counter("cache.refreshes")).isEqualTo(1);
+    }
+
+    private LayeredCacheManager node(CacheInvalidationBus bus) {
+        return new LayeredCacheManager(far,
+                Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(1)),
+                bus, null, null, meterRegistry);
+    }
+
+    private double farGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", "products", "tier", "far", "result", result)
+                .counter().count();
+    }
+
+    private double counter(String meter) {
+        return meterRegistry.get(meter).tags("cache", "products").counter().count();
+    }
+
+    private static String publishedBy(StringRedisTemplate redisTemplate) {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    private static void deliverTo(CacheInvalidationBus bus, LayeredCacheManager manager, String body) {
+        bus.listenerFor(manager).onMessage(new DefaultMessage(
+                CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.jaypal.oms.catalog.api.ProductView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for ProductViewRedisSerializer
+ *
+ * Covers the binary round-trip and compatibility with JSON entries and
+ * unknown format versions during rolling deploys.
+ */
+@DisplayName("ProductViewRedisSerializer Unit Tests")
+class ProductViewRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final ProductViewRedisSerializer serializer = new ProductViewRedisSerializer(json, true);
+
+    @Test
+    @DisplayName("Should round-trip products, including null fields and wide prices")
+    void testRoundTrip() {
+        ProductView regular = new ProductView("SKU-123", "Test Laptop", new BigDecimal("1299.99"), true);
+        ProductView sparse = new ProductView("SKU-Ü", null, null, false);
+        ProductView wide = new ProductView("SKU-W", "Wide",
+                new BigDecimal("-123456789012345678901234567890.123456"), true);
+        ProductView negativeScale = new ProductView("SKU-N", "Rounded", new BigDecimal("1E+3"), true);
+
+        for (ProductView view : new ProductView[]{regular, sparse, wide, negativeScale}) {
+            byte[] bytes = serializer.serialize(view);
+            assertThat(bytes[0]).isEqualTo(ProductViewRedisSerializer.VERSION_1);
+            assertThat(serializer.deserialize(bytes)).isEqualTo(view);
+        }
+    }
+
+    @Test
+    @DisplayName("Should be much smaller than the JSON encoding")
+    void testSmallerThanJson() {
+        ProductView view = new ProductView("SKU-123", "Test Laptop", new BigDecimal("1299.99"), true);
+
+        assertThat(serializer.serialize(view).length * 3).isLessThan(json.serialize(view).length);
+    }
+
+    @Test
+    @DisplayName("Should read JSON entries and write JSON when binary writes are off")
+    void testJsonCompatibility() {
+        ProductView view = new ProductView("SKU-123", "Test Laptop", new BigDecimal("1299.99"), true);
+        ProductViewRedisSerializer jsonWriter = new ProductViewRedisSerializer(json, false);
+
+        byte[] legacy = jsonWriter.serialize(view);
+        assertThat(legacy).isEqualTo(json.serialize(view));
+        assertThat(serializer.deserialize(legacy)).isEqualTo(view);
+        assertThat(jsonWriter.deserialize(serializer.serialize(view))).isEqualTo(view);
+    }
+
+    @Test
+    @DisplayName("Should treat an unknown binary version as a miss")
+    void testUnknownVersion() {
+        byte[] bytes = serializer.serialize(new ProductView("SKU-1", "A", BigDecimal.ONE, true));
+        bytes[0] = 0x02;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hand other value types to the fallback serializer")
+    void testOtherValues() {
+        Map<String, Integer> value = new HashMap<>(Map.of("SKU-1", 3));
+
+        assertThat(serializer.serialize(value)).isEqualTo(json.serialize(value));
+        assertThat(serializer.deserialize(json.serialize(value))).isEqualTo(value);
+    }
+}
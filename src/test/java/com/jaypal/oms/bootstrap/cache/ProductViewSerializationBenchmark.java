@@ -0,0 +1,85 @@
+package com.jaypal.oms.bootstrap.cache;
+
+import com.jaypal.oms.catalog.api.ProductView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro-benchmark: JSON vs compact binary encoding of cached ProductView values.
+ *
+ * Prints encode and decode ns/op and average bytes per entry for both
+ * serializers, after a warm-up pass so the JIT has compiled both paths.
+ *
+ * Disabled by default. Run with:
+ *   ./mvnw test -Dbenchmarks=true -Dtest=ProductViewSerializationBenchmark
+ *
+ * Tunables: -Dbenchmark.iterations (default 2000000), -Dbenchmark.warmup (default 500000)
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ProductViewSerializationBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000_000);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 500_000);
+
+    private static final List<ProductView> PRODUCTS = IntStream.range(0, 1024)
+            .mapToObj(i -> new ProductView(
+                    "SKU-" + (100000 + i),
+                    "Product " + i + " - Wireless Ergonomic Keyboard",
+                    BigDecimal.valueOf(100 + i * 37L, 2),
+                    i % 10 != 0))
+            .toList();
+
+    private long sink;
+
+    @Test
+    void jsonVersusBinary() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        ProductViewRedisSerializer binary = new ProductViewRedisSerializer(json, true);
+
+        run("json", json, WARMUP, false);
+        run("binary", binary, WARMUP, false);
+
+        System.out.printf("%nProductView cache serialization (%,d ops)%n", ITERATIONS);
+        run("json", json, ITERATIONS, true);
+        run("binary", binary, ITERATIONS, true);
+
+        assertThat(sink).isNotZero();
+    }
+
+    private void run(String label, RedisSerializer<Object> serializer, int iterations, boolean report) {
+        byte[][] encoded = PRODUCTS.stream().map(serializer::serialize).toArray(byte[][]::new);
+        long totalBytes = 0;
+        for (byte[] bytes : encoded) {
+            totalBytes += bytes.length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += serializer.serialize(PRODUCTS.get(i & 1023)).length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            ProductView view = (ProductView) serializer.deserialize(encoded[i & 1023]);
+            sink += view.sku().length();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        if (report) {
+            System.out.printf("  %-7s encode %8.1f ns/op   decode %8.1f ns/op   %6.1f bytes/entry%n",
+                    label,
+                    (double) encodeNanos / iterations,
+                    (double) decodeNanos / iterations,
+                    (double) totalBytes / encoded.length);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jaypal.oms.catalog.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaypal.oms.catalog.application.CatalogServiceImpl;
+import com.jaypal.oms.catalog.application.port.out.CatalogVersionPort;
+import com.jaypal.oms.catalog.infrastructure.persistence.ProductJpaEntity;
+import com.jaypal.oms.catalog.infrastructure.persistence.SpringDataProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the catalog export, from the controller through the catalog
+ * service to the database cursor.
+ *
+ * Rows are committed up front, since the export streams them on the async
+ * thread in its own read-only transaction.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CatalogServiceImpl.class, CatalogExportTest.CatalogConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Catalog Export Tests")
+class CatalogExportTest {
+
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(45);
+
+    @Autowired
+    private SpringDataProductRepository repository;
+
+    @Autowired
+    private CatalogApi catalogApi;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                new ProductJpaEntity("SKU-B", "Mug, large", new BigDecimal("12.50"), true),
+                new ProductJpaEntity("SKU-C", "Retired", new BigDecimal("1.00"), false),
+                new ProductJpaEntity("SKU-A", "Pen", new BigDecimal("2.00"), true)));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CatalogController(catalogApi, objectMapper, EXPORT_TIMEOUT))
+                .build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should stream active products as NDJSON under the export timeout")
+    void testExport_Ndjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/catalog/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(EXPORT_TIMEOUT.toMillis());
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().map(line -> readView(line).sku())).containsExactly("SKU-A", "SKU-B");
+    }
+
+    @Test
+    @DisplayName("Should stream active products as CSV with quoted fields")
+    void testExport_Csv() throws Exception {
+        MvcResult started = mockMvc.perform(get("/catalog/products/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        sku,name,price,active
+                        SKU-A,Pen,2.00,true
+                        SKU-B,"Mug, large",12.50,true
+                        """));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown format without streaming")
+    void testExport_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/catalog/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(request().asyncNotStarted());
+    }
+
+    private ProductView readView(String line) {
+        try {
+            return objectMapper.readValue(line, ProductView.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class CatalogConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        CatalogVersionPort catalogVersionPort() {
+            return Mockito.mock(CatalogVersionPort.class);
+        }
+    }
+}
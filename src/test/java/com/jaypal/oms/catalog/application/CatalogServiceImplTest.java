@@ -1,6 +1,7 @@
 package com.jaypal.oms.catalog.application;
 
 import com.jaypal.oms.catalog.api.ProductView;
+import com.jaypal.oms.catalog.infrastructure.cache.InMemoryCatalogVersion;
 import com.jaypal.oms.catalog.infrastructure.persistence.ProductJpaEntity;
 import com.jaypal.oms.catalog.infrastructure.persistence.SpringDataProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +11,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +50,9 @@ class CatalogServiceImplTest {
     @Mock
     private SpringDataProductRepository repository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CatalogServiceImpl catalogService;
 
@@ -170,5 +185,128 @@ class CatalogServiceImplTest {
         assertThat(result.price()).isEqualTo(new BigDecimal("1299.99"));
         assertThat(result.active()).isTrue();
     }
-}
 
+    @Test
+    @DisplayName("Should load only cache misses with one IN query and cache them")
+    void testGetPrices_LoadsMissesInOneQuery() {
+        // Arrange
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("products");
+        Cache cache = cacheManager.getCache("products");
+        cache.put("SKU-CACHED", new ProductView("SKU-CACHED", "Cached", new BigDecimal("5.00"), true));
+        CatalogServiceImpl service = new CatalogServiceImpl(repository, cacheManager, new InMemoryCatalogVersion(),
+                transactionManager);
+        when(repository.findAllById(any())).thenReturn(List.of(testProduct));
+
+        // Act
+        Map<String, BigDecimal> prices = service.getPrices(
+                List.of("SKU-CACHED", "SKU-123", "SKU-123", "SKU-MISSING"));
+
+        // Assert
+        assertThat(prices).containsOnly(
+                Map.entry("SKU-CACHED", new BigDecimal("5.00")),
+                Map.entry("SKU-123", new BigDecimal("1299.99")));
+        verify(repository).findAllById(eq(Set.of("SKU-123", "SKU-MISSING")));
+        assertThat(cache.get("SKU-123", ProductView.class).price()).isEqualTo(new BigDecimal("1299.99"));
+        assertThat(cache.get("SKU-MISSING")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not query the database when every price is cached")
+    void testGetPrices_AllCached() {
+        // Arrange
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("products");
+        cacheManager.getCache("products").put("SKU-123",
+                new ProductView("SKU-123", "Test Laptop", new BigDecimal("1299.99"), true));
+        CatalogServiceImpl service = new CatalogServiceImpl(repository, cacheManager, new InMemoryCatalogVersion(),
+                transactionManager);
+
+        // Act
+        Map<String, BigDecimal> prices = service.getPrices(List.of("SKU-123"));
+
+        // Assert
+        assertThat(prices).containsEntry("SKU-123", new BigDecimal("1299.99"));
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should list products after the cursor SKU without a count query or caching")
+    void testListActiveProductsAfter() {
+        // Arrange
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("products", "productListings");
+        CatalogServiceImpl service = new CatalogServiceImpl(repository, cacheManager, new InMemoryCatalogVersion(),
+                transactionManager);
+        when(repository.findByActiveAfter(true, "", PageRequest.of(0, 21))).thenReturn(List.of(testProduct));
+        when(repository.findByActiveAfter(true, "SKU-123", PageRequest.of(0, 21))).thenReturn(List.of());
+
+        // Act
+        List<ProductView> first = service.listActiveProductsAfter(null, 21);
+        List<ProductView> next = service.listActiveProductsAfter("SKU-123", 21);
+        service.listActiveProductsAfter("SKU-123", 21);
+
+        // Assert
+        assertThat(first).extracting(ProductView::sku).containsExactly("SKU-123");
+        assertThat(next).isEmpty();
+        verify(repository, times(2)).findByActiveAfter(true, "SKU-123", PageRequest.of(0, 21));
+        assertThat(((ConcurrentMapCache) cacheManager.getCache("productListings")).getNativeCache()).isEmpty();
+        verify(repository, never()).countByActive(true);
+    }
+
+    @Test
+    @DisplayName("Should serve listing pages from cache until the catalog version changes")
+    void testListActiveProducts_CachedPerCatalogVersion() {
+        // Arrange
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("products", "productListings");
+        CatalogServiceImpl service = new CatalogServiceImpl(repository, cacheManager, new InMemoryCatalogVersion(),
+                transactionManager);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findByActive(true, pageable)).thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+
+        // Act
+        service.listActiveProducts(pageable);
+        Page<ProductView> cached = service.listActiveProducts(pageable);
+        service.evictProductCache("SKU-123");
+        service.listActiveProducts(pageable);
+
+        // Assert
+        assertThat(cached.getContent()).extracting(ProductView::sku).containsExactly("SKU-123");
+        assertThat(cached.getTotalElements()).isEqualTo(1);
+        verify(repository, times(2)).findByActive(true, pageable);
+    }
+
+    @Test
+    @DisplayName("Should run listing queries on a miss in one read-only repeatable-read transaction")
+    void testListActiveProducts_MissInReadOnlyTransaction() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findByActive(true, pageable)).thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+
+        // Act
+        catalogService.listActiveProducts(pageable);
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    @Test
+    @DisplayName("Should move the catalog version only after the product write commits")
+    void testEvictProductCache_BumpsVersionAfterCommit() {
+        // Arrange
+        InMemoryCatalogVersion version = new InMemoryCatalogVersion();
+        CatalogServiceImpl service = new CatalogServiceImpl(repository, null, version, transactionManager);
+        long before = version.current();
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.evictProductCache("SKU-123");
+            assertThat(version.current()).isEqualTo(before);
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCommit());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertThat(version.current()).isGreaterThan(before);
+    }
+}
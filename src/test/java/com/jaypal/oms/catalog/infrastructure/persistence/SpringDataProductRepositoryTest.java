@@ -0,0 +1,73 @@
+package com.jaypal.oms.catalog.infrastructure.persistence;
+
+import com.jaypal.oms.catalog.api.ProductView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Persistence Tests for SpringDataProductRepository
+ *
+ * Covers the keyset scan used by cursor pagination of the product listing
+ * and the cursor stream behind the catalog export.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("SpringDataProductRepository Persistence Tests")
+class SpringDataProductRepositoryTest {
+
+    @Autowired
+    private SpringDataProductRepository repository;
+
+    @Test
+    @DisplayName("Should walk all active products in SKU order, page by page")
+    void testFindByActiveAfter_WalksCatalog() {
+        repository.saveAll(List.of(
+                product("SKU-E", true),
+                product("SKU-A", true),
+                product("SKU-C", false),
+                product("SKU-D", true),
+                product("SKU-B", true)));
+
+        List<String> walked = new ArrayList<>();
+        String after = "";
+        List<ProductJpaEntity> page;
+        do {
+            page = repository.findByActiveAfter(true, after, PageRequest.of(0, 2));
+            page.forEach(p -> walked.add(p.getSku()));
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getSku();
+            }
+        } while (page.size() == 2);
+
+        assertThat(walked).containsExactly("SKU-A", "SKU-B", "SKU-D", "SKU-E");
+        assertThat(repository.countByActive(true)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should stream active products in SKU order as views")
+    void testStreamByActive() {
+        repository.saveAll(List.of(
+                product("SKU-B", true),
+                product("SKU-C", false),
+                product("SKU-A", true)));
+
+        try (Stream<ProductView> products = repository.streamByActive(true)) {
+            assertThat(products.map(ProductView::sku)).containsExactly("SKU-A", "SKU-B");
+        }
+    }
+
+    private static ProductJpaEntity product(String sku, boolean active) {
+        return new ProductJpaEntity(sku, "Product " + sku, new BigDecimal("9.99"), active);
+    }
+}
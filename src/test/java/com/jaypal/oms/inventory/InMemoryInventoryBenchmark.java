@@ -0,0 +1,104 @@
+package com.jaypal.oms.inventory;
+
+import com.jaypal.oms.inventory.infrastructure.memory.InMemoryInventoryEngine;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryJpaEntity;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryRepositoryAdapter;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataInventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: reservations/sec per hot SKU on the in-memory inventory engine.
+ *
+ * Threads reserve one unit at a time spread over a few hot SKUs, while the
+ * write-behind flush runs alongside; afterwards the flushed table must match
+ * the number of successful reservations.
+ *
+ * Disabled by default. Run with:
+ *   ./mvnw test -Dbenchmarks=true -Dtest=InMemoryInventoryBenchmark
+ *
+ * Tunables: -Dbenchmark.threads (default 16), -Dbenchmark.hot-skus (default 4),
+ * -Dbenchmark.reservations-per-thread (default 200000)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InMemoryInventoryBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int HOT_SKUS = Integer.getInteger("benchmark.hot-skus", 4);
+    private static final int PER_THREAD = Integer.getInteger("benchmark.reservations-per-thread", 200_000);
+
+    @Autowired
+    private SpringDataInventoryRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reservationsPerHotSku() throws Exception {
+        repository.deleteAllInBatch();
+        for (int s = 0; s < HOT_SKUS; s++) {
+            repository.save(new InventoryJpaEntity("SKU-HOT-" + s, Integer.MAX_VALUE / 2, 0));
+        }
+        InMemoryInventoryEngine engine = new InMemoryInventoryEngine(new InventoryRepositoryAdapter(repository),
+                jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 64);
+
+        // Warm up
+        for (int i = 0; i < 100_000; i++) {
+            engine.reserveIfAvailable("SKU-HOT-" + (i % HOT_SKUS), 1);
+        }
+
+        AtomicLong reserved = new AtomicLong();
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                String sku = "SKU-HOT-" + (t % HOT_SKUS);
+                pool.submit(() -> {
+                    long ok = 0;
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        if (engine.reserveIfAvailable(sku, 1)) {
+                            ok++;
+                        }
+                    }
+                    reserved.addAndGet(ok);
+                });
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(200, TimeUnit.MILLISECONDS)) {
+                flusher.submit(engine::flush).get();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        flusher.shutdown();
+        engine.flush();
+
+        double perSecond = reserved.get() / (nanos / 1e9);
+        System.out.printf("%nIn-memory inventory engine (%d threads, %d hot SKUs)%n", THREADS, HOT_SKUS);
+        System.out.printf("  total      %,12.0f reservations/s%n", perSecond);
+        System.out.printf("  per SKU    %,12.0f reservations/s%n", perSecond / HOT_SKUS);
+
+        long flushedReserved = repository.findAll().stream().mapToLong(InventoryJpaEntity::getReservedStock).sum();
+        assertThat(flushedReserved).isEqualTo(reserved.get() + 100_000);
+    }
+}
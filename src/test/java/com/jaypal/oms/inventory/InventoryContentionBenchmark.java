@@ -0,0 +1,137 @@
+package com.jaypal.oms.inventory;
+
+import com.jaypal.oms.inventory.application.usecase.AtomicReserveStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReserveStockUseCase;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryJpaEntity;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryRepositoryAdapter;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataInventoryRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataStockReservationRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.StockReservationLedgerAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark: optimistic read-modify-write vs atomic conditional UPDATE.
+ *
+ * Many threads reserve one unit at a time from a single hot SKU. The optimistic
+ * path runs with the same retry policy as ReserveStockUseCase (3 attempts,
+ * 100ms exponential backoff); the atomic path needs none. Prints reservations/sec,
+ * retries and failed reservations for both.
+ *
+ * Disabled by default. Run with:
+ *   ./mvnw test -Dbenchmarks=true -Dtest=InventoryContentionBenchmark
+ *
+ * Tunables: -Dbenchmark.threads (default 16), -Dbenchmark.reservations-per-thread (default 50)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InventoryContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int PER_THREAD = Integer.getInteger("benchmark.reservations-per-thread", 50);
+    private static final String HOT_SKU = "SKU-HOT";
+
+    @Autowired
+    private SpringDataInventoryRepository repository;
+
+    @Autowired
+    private SpringDataStockReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void optimisticVersusAtomicReservation() throws Exception {
+        InventoryRepositoryAdapter adapter = new InventoryRepositoryAdapter(repository);
+        StockReservationLedgerAdapter ledger =
+                new StockReservationLedgerAdapter(reservationRepository, Duration.ofHours(24), Clock.systemUTC());
+
+        Result optimistic = run("optimistic", new ReserveStockUseCase(adapter, ledger));
+        Result atomic = run("atomic", new AtomicReserveStockUseCase(adapter, ledger));
+
+        System.out.printf("%nInventory contention benchmark (%d threads x %d reservations, 1 hot SKU)%n",
+                THREADS, PER_THREAD);
+        optimistic.print();
+        atomic.print();
+
+        assertThat(atomic.failed).isZero();
+        assertThat(atomic.reserved).isEqualTo((long) THREADS * PER_THREAD);
+    }
+
+    private Result run(String name, ReserveStockUseCase useCase) throws Exception {
+        repository.deleteAllInBatch();
+        repository.save(new InventoryJpaEntity(HOT_SKU, THREADS * PER_THREAD, 0));
+
+        AtomicLong retries = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        RetryTemplate retry = RetryTemplate.builder()
+                .maxAttempts(3)
+                .exponentialBackoff(100, 2.0, 400, true)
+                .retryOn(ObjectOptimisticLockingFailureException.class)
+                .withListener(new RetryListener() {
+                    @Override
+                    public <T, E extends Throwable> void onError(
+                            RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+                        retries.incrementAndGet();
+                    }
+                })
+                .build();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<String, Integer> oneUnit = Map.of(HOT_SKU, 1);
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            IntStream.range(0, THREADS).forEach(t -> pool.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    try {
+                        retry.execute(ctx -> {
+                            tx.executeWithoutResult(s -> useCase.reserve(UUID.randomUUID(), oneUnit));
+                            return null;
+                        });
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        }
+        long nanos = System.nanoTime() - start;
+
+        long reserved = repository.findById(HOT_SKU).orElseThrow().getReservedStock();
+        return new Result(name, reserved, retries.get(), failed.get(), nanos);
+    }
+
+    private record Result(String name, long reserved, long retries, long failed, long nanos) {
+        void print() {
+            System.out.printf("  %-10s %8.0f reservations/s  reserved=%d  retries=%d  failed=%d%n",
+                    name, reserved / (nanos / 1e9), reserved, retries, failed);
+        }
+    }
+}
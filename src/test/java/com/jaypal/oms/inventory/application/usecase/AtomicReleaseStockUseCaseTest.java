@@ -0,0 +1,107 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import com.jaypal.oms.inventory.domain.model.StockLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for AtomicReleaseStockUseCase
+ *
+ * Verifies the conditional-update strategy releases without loading or saving
+ * items and keeps the ledger lines when a release does not apply.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AtomicReleaseStockUseCase Unit Tests")
+class AtomicReleaseStockUseCaseTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryRepositoryPort;
+
+    @Mock
+    private StockReservationLedgerPort reservationLedger;
+
+    @InjectMocks
+    private AtomicReleaseStockUseCase releaseStockUseCase;
+
+    @Test
+    @DisplayName("Should release every SKU in sorted order without read-modify-write")
+    void testRelease_Success() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId))
+                .thenReturn(new TreeMap<>(Map.of("SKU-B", 5, "SKU-A", 3)));
+        when(inventoryRepositoryPort.releaseIfReserved(anyString(), anyInt())).thenReturn(true);
+
+        releaseStockUseCase.release(orderId);
+
+        InOrder order = inOrder(inventoryRepositoryPort, reservationLedger);
+        order.verify(inventoryRepositoryPort).releaseIfReserved("SKU-A", 3);
+        order.verify(inventoryRepositoryPort).releaseIfReserved("SKU-B", 5);
+        order.verify(reservationLedger).deleteByOrderId(orderId);
+        verify(inventoryRepositoryPort, never()).findAllBySkus(any());
+        verify(inventoryRepositoryPort, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the order holds no reservations")
+    void testRelease_NothingReserved() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId)).thenReturn(new TreeMap<>());
+
+        releaseStockUseCase.release(orderId);
+
+        verifyNoInteractions(inventoryRepositoryPort);
+        verify(reservationLedger, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalStateException when less is reserved than the ledger holds")
+    void testRelease_ReservedTooLow() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId)).thenReturn(new TreeMap<>(Map.of("SKU-A", 3)));
+        when(inventoryRepositoryPort.releaseIfReserved("SKU-A", 3)).thenReturn(false);
+        when(inventoryRepositoryPort.findBySku("SKU-A"))
+                .thenReturn(Optional.of(new InventoryItem("SKU-A", new StockLevel(10))));
+
+        assertThatThrownBy(() -> releaseStockUseCase.release(orderId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SKU-A");
+        verify(reservationLedger, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for unknown SKU")
+    void testRelease_UnknownSku() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId)).thenReturn(new TreeMap<>(Map.of("SKU-X", 1)));
+        when(inventoryRepositoryPort.releaseIfReserved("SKU-X", 1)).thenReturn(false);
+        when(inventoryRepositoryPort.findBySku("SKU-X")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> releaseStockUseCase.release(orderId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inventory not found");
+        verify(reservationLedger, never()).deleteByOrderId(any());
+    }
+}
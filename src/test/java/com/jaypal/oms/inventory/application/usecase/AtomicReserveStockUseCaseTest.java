@@ -0,0 +1,93 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import com.jaypal.oms.inventory.domain.exception.InsufficientStockException;
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import com.jaypal.oms.inventory.domain.model.StockLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for AtomicReserveStockUseCase
+ *
+ * Verifies the conditional-update strategy never loads or saves items on the
+ * happy path and reports the right failure otherwise.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AtomicReserveStockUseCase Unit Tests")
+class AtomicReserveStockUseCaseTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryRepositoryPort;
+
+    @Mock
+    private StockReservationLedgerPort reservationLedger;
+
+    @InjectMocks
+    private AtomicReserveStockUseCase reserveStockUseCase;
+
+    @Test
+    @DisplayName("Should reserve every SKU in sorted order without read-modify-write")
+    void testReserve_Success() {
+        when(inventoryRepositoryPort.reserveIfAvailable(anyString(), anyInt())).thenReturn(true);
+
+        reserveStockUseCase.reserve(UUID.randomUUID(), Map.of("SKU-B", 5, "SKU-A", 3));
+
+        InOrder order = inOrder(inventoryRepositoryPort);
+        order.verify(inventoryRepositoryPort).reserveIfAvailable("SKU-A", 3);
+        order.verify(inventoryRepositoryPort).reserveIfAvailable("SKU-B", 5);
+        verify(inventoryRepositoryPort, never()).findBySku(any());
+        verify(inventoryRepositoryPort, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientStockException when the update matches no row")
+    void testReserve_InsufficientStock() {
+        when(inventoryRepositoryPort.reserveIfAvailable("SKU-A", 100)).thenReturn(false);
+        when(inventoryRepositoryPort.findBySku("SKU-A"))
+                .thenReturn(Optional.of(new InventoryItem("SKU-A", new StockLevel(10))));
+
+        assertThatThrownBy(() -> reserveStockUseCase.reserve(UUID.randomUUID(), Map.of("SKU-A", 100)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("SKU-A");
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for unknown SKU")
+    void testReserve_UnknownSku() {
+        when(inventoryRepositoryPort.reserveIfAvailable("SKU-X", 1)).thenReturn(false);
+        when(inventoryRepositoryPort.findBySku("SKU-X")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reserveStockUseCase.reserve(UUID.randomUUID(), Map.of("SKU-X", 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inventory not found");
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive quantities before touching inventory")
+    void testReserve_NonPositiveQuantity() {
+        assertThatThrownBy(() -> reserveStockUseCase.reserve(UUID.randomUUID(), Map.of("SKU-A", 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(inventoryRepositoryPort, never()).reserveIfAvailable(anyString(), anyInt());
+    }
+}
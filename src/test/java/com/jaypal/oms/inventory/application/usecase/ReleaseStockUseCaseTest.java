@@ -0,0 +1,101 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import com.jaypal.oms.inventory.domain.model.StockLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for ReleaseStockUseCase
+ *
+ * Verifies that an order's ledger lines are released with one bulk load and one
+ * bulk save, and that releasing an order that holds nothing is a no-op.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReleaseStockUseCase Unit Tests")
+class ReleaseStockUseCaseTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryRepositoryPort;
+
+    @Mock
+    private StockReservationLedgerPort reservationLedger;
+
+    @InjectMocks
+    private ReleaseStockUseCase releaseStockUseCase;
+
+    @Test
+    @DisplayName("Should release all SKUs with one bulk load and one bulk save")
+    void testRelease_MultipleSkus() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId))
+                .thenReturn(new TreeMap<>(Map.of("SKU-B", 20, "SKU-A", 10)));
+        InventoryItem itemA = reservedItem("SKU-A", 100, 30);
+        InventoryItem itemB = reservedItem("SKU-B", 100, 20);
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(new TreeMap<>(Map.of("SKU-A", itemA, "SKU-B", itemB)));
+
+        releaseStockUseCase.release(orderId);
+
+        assertThat(itemA.getReservedStock().getQuantity()).isEqualTo(20);
+        assertThat(itemA.getAvailableStock().getQuantity()).isEqualTo(80);
+        assertThat(itemB.getReservedStock().getQuantity()).isZero();
+        assertThat(itemB.getAvailableStock().getQuantity()).isEqualTo(100);
+        verify(inventoryRepositoryPort).saveAll(argThat(items -> List.copyOf(items).equals(List.of(itemA, itemB))));
+        verify(reservationLedger).deleteByOrderId(orderId);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the order holds no reservations")
+    void testRelease_NothingReserved() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId)).thenReturn(new TreeMap<>());
+
+        releaseStockUseCase.release(orderId);
+
+        verifyNoInteractions(inventoryRepositoryPort);
+        verify(reservationLedger, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("Should save nothing when a SKU is unknown")
+    void testRelease_UnknownSku() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationLedger.lockByOrderId(orderId))
+                .thenReturn(new TreeMap<>(Map.of("SKU-A", 10, "SKU-MISSING", 1)));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(new TreeMap<>(Map.of("SKU-A", reservedItem("SKU-A", 100, 30))));
+
+        assertThatThrownBy(() -> releaseStockUseCase.release(orderId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SKU-MISSING");
+        verify(inventoryRepositoryPort, never()).saveAll(any());
+        verify(reservationLedger, never()).deleteByOrderId(any());
+    }
+
+    private static InventoryItem reservedItem(String sku, int stock, int reserved) {
+        InventoryItem item = new InventoryItem(sku, new StockLevel(stock));
+        item.reserve(reserved);
+        return item;
+    }
+}
@@ -0,0 +1,45 @@
+package com.jaypal.oms.inventory.application.usecase;
+
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit Tests for ReservationExpiryUseCase
+ *
+ * Verifies the expiry cutoff comes from the injected clock.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationExpiryUseCase Unit Tests")
+class ReservationExpiryUseCaseTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-31T12:00:00Z");
+
+    @Mock
+    private StockReservationLedgerPort reservationLedger;
+
+    private ReservationExpiryUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ReservationExpiryUseCase(reservationLedger, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should take the expiry cutoff from the clock")
+    void testCutoff() {
+        useCase.findExpired(10);
+
+        verify(reservationLedger).findExpiredOrderIds(NOW, 10);
+    }
+}
@@ -1,6 +1,7 @@
 package com.jaypal.oms.inventory.application.usecase;
 
 import com.jaypal.oms.inventory.application.port.out.InventoryRepositoryPort;
+import com.jaypal.oms.inventory.application.port.out.StockReservationLedgerPort;
 import com.jaypal.oms.inventory.domain.exception.InsufficientStockException;
 import com.jaypal.oms.inventory.domain.model.InventoryItem;
 import com.jaypal.oms.inventory.domain.model.StockLevel;
@@ -13,23 +14,28 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
  * Unit Tests for ReserveStockUseCase
  *
  * Tests stock reservation logic with mocked repository.
- * Verifies retry behavior and error handling.
+ * Verifies bulk load / bulk save behavior and error handling.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ReserveStockUseCase Unit Tests")
@@ -38,6 +44,9 @@ class ReserveStockUseCaseTest {
     @Mock
     private InventoryRepositoryPort inventoryRepositoryPort;
 
+    @Mock
+    private StockReservationLedgerPort reservationLedger;
+
     @InjectMocks
     private ReserveStockUseCase reserveStockUseCase;
 
@@ -57,8 +66,8 @@ class ReserveStockUseCaseTest {
     void testReserve_SingleSku_Success() {
         // Arrange
         InventoryItem item = new InventoryItem("SKU-A", new StockLevel(1000));
-        when(inventoryRepositoryPort.findBySku("SKU-A"))
-                .thenReturn(Optional.of(item));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(item));
 
         Map<String, Integer> quantities = Map.of("SKU-A", 100);
 
@@ -68,7 +77,7 @@ class ReserveStockUseCaseTest {
         // Assert
         assertThat(item.getAvailableStock().getQuantity()).isEqualTo(900);
         assertThat(item.getReservedStock().getQuantity()).isEqualTo(100);
-        verify(inventoryRepositoryPort).save(item);
+        verify(inventoryRepositoryPort).saveAll(argThat(items -> List.copyOf(items).equals(List.of(item))));
     }
 
     @Test
@@ -78,10 +87,8 @@ class ReserveStockUseCaseTest {
         InventoryItem itemA = new InventoryItem("SKU-A", new StockLevel(1000));
         InventoryItem itemB = new InventoryItem("SKU-B", new StockLevel(500));
 
-        when(inventoryRepositoryPort.findBySku("SKU-A"))
-                .thenReturn(Optional.of(itemA));
-        when(inventoryRepositoryPort.findBySku("SKU-B"))
-                .thenReturn(Optional.of(itemB));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(itemA, itemB));
 
         // Act
         reserveStockUseCase.reserve(testOrderId, testSkuQuantities);
@@ -91,15 +98,46 @@ class ReserveStockUseCaseTest {
         assertThat(itemA.getReservedStock().getQuantity()).isEqualTo(100);
         assertThat(itemB.getAvailableStock().getQuantity()).isEqualTo(450);
         assertThat(itemB.getReservedStock().getQuantity()).isEqualTo(50);
-        verify(inventoryRepositoryPort, times(2)).save(any());
+        verify(inventoryRepositoryPort, times(1)).findAllBySkus(any());
+        verify(inventoryRepositoryPort).saveAll(argThat(items -> List.copyOf(items).equals(List.of(itemA, itemB))));
+    }
+
+    @Test
+    @DisplayName("Should record reservation in the ledger")
+    void testReserve_RecordsLedger() {
+        // Arrange
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(new InventoryItem("SKU-A", new StockLevel(1000))));
+
+        Map<String, Integer> quantities = Map.of("SKU-A", 100);
+
+        // Act
+        reserveStockUseCase.reserve(testOrderId, quantities);
+
+        // Assert
+        verify(reservationLedger).record(testOrderId, quantities);
+    }
+
+    @Test
+    @DisplayName("Should skip orders that already hold a reservation (redelivered event)")
+    void testReserve_AlreadyReserved() {
+        // Arrange
+        when(reservationLedger.hasReservations(testOrderId)).thenReturn(true);
+
+        // Act
+        reserveStockUseCase.reserve(testOrderId, testSkuQuantities);
+
+        // Assert
+        verifyNoInteractions(inventoryRepositoryPort);
+        verify(reservationLedger, never()).record(any(), any());
     }
 
     @Test
     @DisplayName("Should reject reservation when SKU not found")
     void testReserve_SkuNotFound() {
         // Arrange
-        when(inventoryRepositoryPort.findBySku("SKU-MISSING"))
-                .thenReturn(Optional.empty());
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory());
 
         Map<String, Integer> quantities = Map.of("SKU-MISSING", 100);
 
@@ -114,8 +152,8 @@ class ReserveStockUseCaseTest {
     void testReserve_InsufficientStock() {
         // Arrange
         InventoryItem item = new InventoryItem("SKU-A", new StockLevel(50));
-        when(inventoryRepositoryPort.findBySku("SKU-A"))
-                .thenReturn(Optional.of(item));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(item));
 
         Map<String, Integer> quantities = Map.of("SKU-A", 100);
 
@@ -130,8 +168,8 @@ class ReserveStockUseCaseTest {
     void testReserve_ExactAmount() {
         // Arrange
         InventoryItem item = new InventoryItem("SKU-A", new StockLevel(100));
-        when(inventoryRepositoryPort.findBySku("SKU-A"))
-                .thenReturn(Optional.of(item));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(item));
 
         Map<String, Integer> quantities = Map.of("SKU-A", 100);
 
@@ -150,7 +188,7 @@ class ReserveStockUseCaseTest {
         reserveStockUseCase.reserve(testOrderId, new HashMap<>());
 
         // Assert - should succeed with no operations
-        verify(inventoryRepositoryPort, times(0)).save(any());
+        verifyNoInteractions(inventoryRepositoryPort);
     }
 
     @Test
@@ -166,15 +204,21 @@ class ReserveStockUseCaseTest {
         InventoryItem itemA = new InventoryItem("SKU-A", new StockLevel(1000));
         InventoryItem itemM = new InventoryItem("SKU-M", new StockLevel(1000));
 
-        when(inventoryRepositoryPort.findBySku("SKU-A")).thenReturn(Optional.of(itemA));
-        when(inventoryRepositoryPort.findBySku("SKU-M")).thenReturn(Optional.of(itemM));
-        when(inventoryRepositoryPort.findBySku("SKU-Z")).thenReturn(Optional.of(itemZ));
+        when(inventoryRepositoryPort.findAllBySkus(any()))
+                .thenReturn(inventory(itemZ, itemA, itemM));
 
         // Act
         reserveStockUseCase.reserve(testOrderId, quantities);
 
-        // Assert - all saved successfully (order doesn't matter for save, but prevents deadlock)
-        verify(inventoryRepositoryPort, times(3)).save(any());
+        // Assert - saved in one batch, in SKU order (consistent lock order prevents deadlock)
+        verify(inventoryRepositoryPort).saveAll(argThat(items -> List.copyOf(items).equals(List.of(itemA, itemM, itemZ))));
     }
-}
 
+    private static SortedMap<String, InventoryItem> inventory(InventoryItem... items) {
+        SortedMap<String, InventoryItem> inventory = new TreeMap<>();
+        for (InventoryItem item : items) {
+            inventory.put(item.getSku(), item);
+        }
+        return inventory;
+    }
+}
@@ -0,0 +1,207 @@
+package com.jaypal.oms.inventory.infrastructure.memory;
+
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryJpaEntity;
+import com.jaypal.oms.inventory.infrastructure.persistence.InventoryRepositoryAdapter;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataInventoryRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.SpringDataStockReservationRepository;
+import com.jaypal.oms.inventory.infrastructure.persistence.StockReservationJpaEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the in-memory inventory engine and its write-behind flush.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("InMemoryInventoryEngine Tests")
+class InMemoryInventoryEngineTest {
+
+    @Autowired
+    private SpringDataInventoryRepository repository;
+
+    @Autowired
+    private SpringDataStockReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryInventoryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAllInBatch();
+        repository.deleteAllInBatch();
+        repository.save(new InventoryJpaEntity("SKU-A", 100, 0));
+        engine = newEngine();
+    }
+
+    @Test
+    @DisplayName("Should never oversell under concurrent reservations")
+    void testReserveIfAvailable_Concurrent() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        if (engine.reserveIfAvailable("SKU-A", 1)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(reserved.get()).isEqualTo(100);
+        InventoryItem item = engine.findBySku("SKU-A").orElseThrow();
+        assertThat(item.getAvailableStock().getQuantity()).isZero();
+        assertThat(item.getReservedStock().getQuantity()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should write net deltas on flush and recover them in a new engine")
+    void testFlush_RecoveredAfterRestart() {
+        reserve("SKU-A", 30);
+        reserve("SKU-A", 5);
+
+        assertThat(repository.findById("SKU-A").orElseThrow().getReservedStock()).isZero();
+        engine.flush();
+
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(65);
+        assertThat(row.getReservedStock()).isEqualTo(35);
+
+        InventoryItem recovered = newEngine().findBySku("SKU-A").orElseThrow();
+        assertThat(recovered.getAvailableStock().getQuantity()).isEqualTo(65);
+        assertThat(recovered.getReservedStock().getQuantity()).isEqualTo(35);
+    }
+
+    @Test
+    @DisplayName("Should recover unflushed reservations from the ledger after a crash")
+    void testRecovery_FromLedger() {
+        reserve("SKU-A", 30);
+
+        // Crash: nothing flushed, the ledger line committed
+        InMemoryInventoryEngine restarted = newEngine();
+        InventoryItem recovered = restarted.findBySku("SKU-A").orElseThrow();
+        assertThat(recovered.getAvailableStock().getQuantity()).isEqualTo(70);
+        assertThat(recovered.getReservedStock().getQuantity()).isEqualTo(30);
+
+        restarted.flush();
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(70);
+        assertThat(row.getReservedStock()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should not flush changes of a transaction that has not committed")
+    void testFlush_SkipsUncommitted() throws Exception {
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch flushed = new CountDownLatch(1);
+        CompletableFuture<Void> txn = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    engine.reserveIfAvailable("SKU-A", 40);
+                    reserved.countDown();
+                    awaitQuietly(flushed);
+                }));
+
+        reserved.await(10, TimeUnit.SECONDS);
+        engine.flush();
+        assertThat(repository.findById("SKU-A").orElseThrow().getAvailableStock()).isEqualTo(100);
+        flushed.countDown();
+        txn.get(10, TimeUnit.SECONDS);
+
+        engine.flush();
+        assertThat(repository.findById("SKU-A").orElseThrow().getAvailableStock()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should make released stock available only after commit")
+    void testRelease_VisibleAfterCommit() {
+        engine.reserveIfAvailable("SKU-A", 40);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(engine.releaseIfReserved("SKU-A", 40)).isTrue();
+            assertThat(engine.findBySku("SKU-A").orElseThrow().getAvailableStock().getQuantity()).isEqualTo(60);
+        });
+
+        assertThat(engine.findBySku("SKU-A").orElseThrow().getAvailableStock().getQuantity()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should revert in-memory changes when the transaction rolls back")
+    void testRollback_RevertsChanges() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            engine.reserveIfAvailable("SKU-A", 40);
+            status.setRollbackOnly();
+        });
+
+        assertThat(engine.findBySku("SKU-A").orElseThrow().getAvailableStock().getQuantity()).isEqualTo(100);
+        engine.flush();
+        assertThat(repository.findById("SKU-A").orElseThrow().getAvailableStock()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should reject saving an item read before a concurrent change")
+    void testSave_StaleItem() {
+        InventoryItem stale = engine.findBySku("SKU-A").orElseThrow();
+        engine.reserveIfAvailable("SKU-A", 1);
+        stale.reserve(10);
+
+        assertThatThrownBy(() -> engine.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    /**
+     * Reserves through the engine and records the ledger line, as the reserve use case does.
+     */
+    private void reserve(String sku, int quantity) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(engine.reserveIfAvailable(sku, quantity)).isTrue();
+            reservationRepository.save(new StockReservationJpaEntity(
+                    UUID.randomUUID(), sku, quantity, Instant.now(), null));
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private InMemoryInventoryEngine newEngine() {
+        return new InMemoryInventoryEngine(new InventoryRepositoryAdapter(repository),
+                jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 16);
+    }
+}
@@ -0,0 +1,123 @@
+package com.jaypal.oms.inventory.infrastructure.persistence;
+
+import com.jaypal.oms.inventory.domain.model.InventoryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Persistence tests for InventoryRepositoryAdapter against the test database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("InventoryRepositoryAdapter Persistence Tests")
+class InventoryRepositoryAdapterTest {
+
+    @Autowired
+    private SpringDataInventoryRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private InventoryRepositoryAdapter adapter;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        repository.save(new InventoryJpaEntity("SKU-A", 10, 0));
+        adapter = new InventoryRepositoryAdapter(repository);
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should reserve atomically when enough stock is available")
+    void testReserveIfAvailable_Success() {
+        assertThat(tx.<Boolean>execute(s -> adapter.reserveIfAvailable("SKU-A", 4))).isTrue();
+
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(6);
+        assertThat(row.getReservedStock()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should leave stock untouched when not enough is available")
+    void testReserveIfAvailable_Insufficient() {
+        assertThat(tx.<Boolean>execute(s -> adapter.reserveIfAvailable("SKU-A", 11))).isFalse();
+        assertThat(tx.<Boolean>execute(s -> adapter.reserveIfAvailable("SKU-MISSING", 1))).isFalse();
+
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(10);
+        assertThat(row.getReservedStock()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release atomically only what is reserved")
+    void testReleaseIfReserved() {
+        tx.executeWithoutResult(s -> adapter.reserveIfAvailable("SKU-A", 4));
+
+        assertThat(tx.<Boolean>execute(s -> adapter.releaseIfReserved("SKU-A", 5))).isFalse();
+        assertThat(tx.<Boolean>execute(s -> adapter.releaseIfReserved("SKU-A", 3))).isTrue();
+        assertThat(tx.<Boolean>execute(s -> adapter.releaseIfReserved("SKU-MISSING", 1))).isFalse();
+
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(9);
+        assertThat(row.getReservedStock()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should save repeated read-modify-write updates of the same SKU")
+    void testSave_SuccessiveUpdates() {
+        for (int i = 0; i < 3; i++) {
+            tx.executeWithoutResult(s -> {
+                InventoryItem item = adapter.findBySku("SKU-A").orElseThrow();
+                item.reserve(1);
+                adapter.save(item);
+            });
+        }
+
+        InventoryJpaEntity row = repository.findById("SKU-A").orElseThrow();
+        assertThat(row.getAvailableStock()).isEqualTo(7);
+        assertThat(row.getReservedStock()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should load and save many SKUs with one query and one update batch")
+    void testFindAllAndSaveAll_Bulk() {
+        repository.save(new InventoryJpaEntity("SKU-C", 10, 0));
+        repository.save(new InventoryJpaEntity("SKU-B", 10, 0));
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        tx.executeWithoutResult(s -> {
+            SortedMap<String, InventoryItem> items =
+                    adapter.findAllBySkus(List.of("SKU-C", "SKU-A", "SKU-B", "SKU-MISSING"));
+            assertThat(items.keySet()).containsExactly("SKU-A", "SKU-B", "SKU-C");
+            items.values().forEach(item -> item.reserve(2));
+            adapter.saveAll(items.values());
+        });
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(stats.getEntityUpdateCount()).isEqualTo(3);
+        assertThat(repository.findAll()).allMatch(row -> row.getReservedStock() == 2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jaypal.oms.inventory.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Persistence tests for StockReservationLedgerAdapter against the test database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("StockReservationLedgerAdapter Persistence Tests")
+class StockReservationLedgerAdapterTest {
+
+    @Autowired
+    private SpringDataStockReservationRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationLedgerAdapter ledger;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        ledger = new StockReservationLedgerAdapter(repository, Duration.ofHours(1), Clock.systemUTC());
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should record, lock and delete an order's reservation lines")
+    void testRecordLockAndDelete() {
+        UUID orderId = UUID.randomUUID();
+        tx.executeWithoutResult(s -> ledger.record(orderId, Map.of("SKU-B", 2, "SKU-A", 5)));
+
+        assertThat(ledger.hasReservations(orderId)).isTrue();
+        SortedMap<String, Integer> locked = tx.execute(s -> ledger.lockByOrderId(orderId));
+        assertThat(locked).containsExactly(Map.entry("SKU-A", 5), Map.entry("SKU-B", 2));
+
+        tx.executeWithoutResult(s -> ledger.deleteByOrderId(orderId));
+        tx.executeWithoutResult(s -> ledger.deleteByOrderId(orderId));
+
+        assertThat(ledger.hasReservations(orderId)).isFalse();
+        assertThat(tx.<SortedMap<String, Integer>>execute(s -> ledger.lockByOrderId(orderId))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find only orders whose reservations have expired")
+    void testFindExpiredOrderIds() {
+        UUID orderId = UUID.randomUUID();
+        tx.executeWithoutResult(s -> ledger.record(orderId, Map.of("SKU-A", 1, "SKU-B", 1)));
+
+        assertThat(ledger.findExpiredOrderIds(Instant.now(), 10)).isEmpty();
+        assertThat(ledger.findExpiredOrderIds(Instant.now().plus(Duration.ofHours(2)), 10))
+                .containsExactly(orderId);
+    }
+
+    @Test
+    @DisplayName("Should never expire retained reservations")
+    void testRetainedNeverExpire() {
+        UUID retained = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        tx.executeWithoutResult(s -> {
+            ledger.record(retained, Map.of("SKU-A", 1));
+            ledger.record(pending, Map.of("SKU-A", 1));
+            ledger.retain(retained);
+        });
+
+        assertThat(ledger.findExpiredOrderIds(Instant.now().plus(Duration.ofDays(365)), 10))
+                .containsExactly(pending);
+    }
+}
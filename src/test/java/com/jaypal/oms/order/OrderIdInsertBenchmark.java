@@ -0,0 +1,88 @@
+package com.jaypal.oms.order;
+
+import com.jaypal.oms.shared.infrastructure.id.IdGenerator;
+import com.jaypal.oms.shared.infrastructure.id.IdGeneratorType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert benchmark: random UUIDv4 vs time-ordered UUIDv7 order ids.
+ *
+ * Inserts the same number of orders into the migrated PostgreSQL schema with
+ * each generator and prints inserts/sec and the size of the primary key
+ * index. Random keys split pages all over the B-tree and leave them half
+ * full; v7 keys append to the right-most page.
+ *
+ * Disabled by default; needs Docker. Run with:
+ *   ./mvnw test -Dbenchmarks=true -Dtest=OrderIdInsertBenchmark
+ *
+ * Tunables: -Dbenchmark.orders (default 500000), -Dbenchmark.batch-size (default 1000)
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class OrderIdInsertBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 500_000);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 1000);
+
+    @Test
+    void randomVersusTimeOrderedIds() {
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                    postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                    postgres.getUsername(), postgres.getPassword()));
+
+            System.out.printf("%nOrder id insert benchmark (%d orders, batch size %d)%n", ORDERS, BATCH_SIZE);
+            Result random = run(jdbc, IdGeneratorType.RANDOM);
+            Result v7 = run(jdbc, IdGeneratorType.UUID_V7);
+
+            assertThat(v7.pkBytes()).isLessThan(random.pkBytes());
+        }
+    }
+
+    private static Result run(JdbcTemplate jdbc, IdGeneratorType type) {
+        jdbc.execute("TRUNCATE orders");
+        IdGenerator generator = type.create();
+
+        long start = System.nanoTime();
+        for (int from = 0; from < ORDERS; from += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, ORDERS - from);
+            List<Object[]> batch = new ArrayList<>(size);
+            Timestamp now = Timestamp.from(Instant.now());
+            for (int i = 0; i < size; i++) {
+                batch.add(new Object[]{generator.newId(), "customer-" + (from + i) % 1000, "PENDING", 10, now});
+            }
+            jdbc.batchUpdate(
+                    "INSERT INTO orders (order_id, customer_id, status, subtotal, created_at) VALUES (?, ?, ?, ?, ?)",
+                    batch);
+        }
+        long nanos = System.nanoTime() - start;
+
+        Long pkBytes = jdbc.queryForObject("SELECT pg_relation_size('pk_orders')", Long.class);
+        Long indexBytes = jdbc.queryForObject("SELECT pg_indexes_size('orders')", Long.class);
+        System.out.printf("  %-8s: %8.0f inserts/sec   pk_orders %7.1f MB   all indexes %7.1f MB%n",
+                type, ORDERS / (nanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                pkBytes / 1048576.0, indexBytes / 1048576.0);
+        return new Result(nanos, pkBytes);
+    }
+
+    private record Result(long nanos, long pkBytes) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.jaypal.oms.order;
+
+import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.out.CatalogPort;
+import com.jaypal.oms.order.application.usecase.PlaceOrderUseCase;
+import com.jaypal.oms.order.infrastructure.persistence.OrderRepositoryAdapter;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderItemRepository;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderRepository;
+import com.jaypal.oms.shared.infrastructure.id.IdGeneratorType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark: single-order placement vs batch placement.
+ *
+ * Runs against the in-memory test database with a simulated catalog
+ * round-trip, and prints orders/sec for both paths.
+ *
+ * Disabled by default. Run with:
+ *   ./mvnw test -Dbenchmarks=true -Dtest=PlaceOrderThroughputBenchmark
+ *
+ * Tunables: -Dbenchmark.orders (default 2000), -Dbenchmark.batch-size (default 500),
+ * -Dbenchmark.catalog-latency-micros (default 200)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PlaceOrderThroughputBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2000);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 500);
+    private static final long CATALOG_LATENCY_MICROS = Long.getLong("benchmark.catalog-latency-micros", 200);
+    private static final List<String> SKUS = List.of("SKU-1", "SKU-2", "SKU-3", "SKU-4", "SKU-5");
+
+    @Autowired
+    private SpringDataOrderRepository orderRepository;
+
+    @Autowired
+    private SpringDataOrderItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void singleVersusBatchPlacement() {
+        SimulatedCatalog catalog = new SimulatedCatalog();
+        PlaceOrderUseCase useCase = new PlaceOrderUseCase(
+                new OrderRepositoryAdapter(orderRepository, itemRepository),
+                catalog,
+                event -> { },
+                IdGeneratorType.UUID_V7.create(),
+                null);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<PlaceOrderCommand> commands = IntStream.range(0, ORDERS)
+                .mapToObj(i -> command(i))
+                .toList();
+
+        // Warm up both paths
+        commands.subList(0, 100).forEach(c -> tx.executeWithoutResult(s -> useCase.placeOrder(c)));
+        tx.executeWithoutResult(s -> useCase.placeOrders(commands.subList(0, 100)));
+
+        catalog.calls.set(0);
+        long start = System.nanoTime();
+        commands.forEach(c -> tx.executeWithoutResult(s -> useCase.placeOrder(c)));
+        long singleNanos = System.nanoTime() - start;
+        long singleCalls = catalog.calls.getAndSet(0);
+
+        start = System.nanoTime();
+        for (int from = 0; from < ORDERS; from += BATCH_SIZE) {
+            List<PlaceOrderCommand> batch = commands.subList(from, Math.min(from + BATCH_SIZE, ORDERS));
+            tx.executeWithoutResult(s -> useCase.placeOrders(batch));
+        }
+        long batchNanos = System.nanoTime() - start;
+        long batchCalls = catalog.calls.get();
+
+        System.out.printf("%nPlace order throughput (%d orders, catalog latency %dus)%n",
+                ORDERS, CATALOG_LATENCY_MICROS);
+        System.out.printf("  single : %8.0f orders/sec, %6d catalog calls%n",
+                ORDERS / seconds(singleNanos), singleCalls);
+        System.out.printf("  batch  : %8.0f orders/sec, %6d catalog calls (batch size %d)%n",
+                ORDERS / seconds(batchNanos), batchCalls, BATCH_SIZE);
+
+        assertThat(batchCalls).isLessThan(singleCalls);
+    }
+
+    private static PlaceOrderCommand command(int i) {
+        Map<String, Integer> items = new HashMap<>();
+        items.put(SKUS.get(i % SKUS.size()), 1 + i % 3);
+        items.put(SKUS.get((i + 1) % SKUS.size()), 1);
+        return new PlaceOrderCommand(items);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Catalog stub that charges a fixed latency per round-trip.
+     */
+    private static class SimulatedCatalog implements CatalogPort {
+
+        private final AtomicLong calls = new AtomicLong();
+
+        @Override
+        public Optional<BigDecimal> getPrice(String sku) {
+            roundTrip();
+            return Optional.of(new BigDecimal("9.99"));
+        }
+
+        @Override
+        public Map<String, BigDecimal> getPrices(Collection<String> skus) {
+            roundTrip();
+            Map<String, BigDecimal> prices = new HashMap<>();
+            skus.forEach(sku -> prices.put(sku, new BigDecimal("9.99")));
+            return prices;
+        }
+
+        private void roundTrip() {
+            calls.incrementAndGet();
+            long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(CATALOG_LATENCY_MICROS);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
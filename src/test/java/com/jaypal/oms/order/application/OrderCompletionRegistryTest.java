@@ -0,0 +1,71 @@
+package com.jaypal.oms.order.application;
+
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for OrderCompletionRegistry
+ *
+ * Verifies that a completion requested inside a transaction reaches the
+ * waiter only after commit, and never after rollback.
+ */
+@DisplayName("OrderCompletionRegistry Unit Tests")
+class OrderCompletionRegistryTest {
+
+    private final OrderCompletionRegistry registry = new OrderCompletionRegistry();
+    private final UUID orderId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete right away outside a transaction")
+    void testCompleteAfterCommit_NoTransaction() {
+        CompletableFuture<OrderStatus> handle = registry.register(orderId);
+
+        registry.completeAfterCommit(orderId, OrderStatus.CANCELLED);
+
+        assertThat(handle).isCompletedWithValue(OrderStatus.CANCELLED);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should complete only once the transaction commits")
+    void testCompleteAfterCommit_Commit() {
+        CompletableFuture<OrderStatus> handle = registry.register(orderId);
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.completeAfterCommit(orderId, OrderStatus.CANCELLED);
+        assertThat(handle).isNotDone();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(handle).isCompletedWithValue(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should leave the handle waiting when the transaction rolls back")
+    void testCompleteAfterCommit_Rollback() {
+        CompletableFuture<OrderStatus> handle = registry.register(orderId);
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.completeAfterCommit(orderId, OrderStatus.CANCELLED);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(handle).isNotDone();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderItem;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for AwaitOrderOutcomeUseCase
+ *
+ * Verifies that a waiter is answered by the saga's completion, by the order's
+ * stored status when the saga already finished, or with PENDING on timeout,
+ * and that its handle is released either way.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AwaitOrderOutcomeUseCase Unit Tests")
+class AwaitOrderOutcomeUseCaseTest {
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    private OrderCompletionRegistry completions;
+    private AwaitOrderOutcomeUseCase useCase;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        completions = new OrderCompletionRegistry();
+        useCase = new AwaitOrderOutcomeUseCase(orderRepository, completions);
+        orderId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should complete with the status reported by the saga")
+    void testCompletedBySaga() throws Exception {
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order(OrderStatus.PENDING)));
+
+        CompletableFuture<OrderStatus> outcome = useCase.awaitOutcome(orderId, Duration.ofSeconds(5));
+        assertThat(outcome).isNotDone();
+
+        completions.complete(orderId, OrderStatus.CONFIRMED);
+
+        assertThat(outcome.get(1, TimeUnit.SECONDS)).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(completions.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should complete at once when the saga finished before the wait started")
+    void testAlreadySettled() {
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order(OrderStatus.CANCELLED)));
+
+        CompletableFuture<OrderStatus> outcome = useCase.awaitOutcome(orderId, Duration.ofSeconds(5));
+
+        assertThat(outcome).isCompletedWithValue(OrderStatus.CANCELLED);
+        verify(orderRepository).findById(orderId);
+    }
+
+    @Test
+    @DisplayName("Should complete with PENDING and release the handle on timeout")
+    void testTimeout() throws Exception {
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order(OrderStatus.PENDING)));
+
+        CompletableFuture<OrderStatus> outcome = useCase.awaitOutcome(orderId, Duration.ofMillis(50));
+
+        assertThat(outcome.get(1, TimeUnit.SECONDS)).isEqualTo(OrderStatus.PENDING);
+        assertThat(completions.size()).isZero();
+    }
+
+    private Order order(OrderStatus status) {
+        return Order.reconstitute(orderId, "customer-1",
+                List.of(new OrderItem("SKU-A", 1, new BigDecimal("10.00"))),
+                new BigDecimal("10.00"), status, Instant.now());
+    }
+}
@@ -0,0 +1,120 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.event.OrderCancelledEvent;
+import com.jaypal.oms.order.domain.exception.ConcurrentOrderUpdateException;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderItem;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for CancelOrderUseCase
+ *
+ * Verifies that a cancellation is written only over the status it was decided
+ * on, scoped to the customer when one is given, and that a lost race is
+ * reported without publishing the cancellation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CancelOrderUseCase Unit Tests")
+class CancelOrderUseCaseTest {
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private OrderEventPublisherPort eventPublisher;
+
+    @Mock
+    private OrderCompletionRegistry orderCompletions;
+
+    private CancelOrderUseCase useCase;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new CancelOrderUseCase(orderRepository, eventPublisher, orderCompletions);
+        orderId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should cancel with a conditional update against the loaded status")
+    void testCancelOrder() {
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order(OrderStatus.CONFIRMED)));
+        when(orderRepository.transitionStatus(orderId, OrderStatus.CONFIRMED, OrderStatus.CANCELLED))
+                .thenReturn(true);
+
+        useCase.cancelOrder(orderId);
+
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher).publish(argThat(events ->
+                events.size() == 1 && events.iterator().next() instanceof OrderCancelledEvent));
+        verify(orderCompletions).completeAfterCommit(orderId, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should scope the conditional update to the requesting customer")
+    void testCancelOrder_Customer() {
+        when(orderRepository.findByIdAndCustomerId(orderId, "customer-1"))
+                .thenReturn(Optional.of(order(OrderStatus.PENDING)));
+        when(orderRepository.transitionStatus(orderId, "customer-1", OrderStatus.PENDING, OrderStatus.CANCELLED))
+                .thenReturn(true);
+
+        useCase.cancelOrder(orderId, "customer-1");
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any());
+        verify(eventPublisher).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should report a conflict and publish nothing when the order changed after loading")
+    void testCancelOrder_ChangedConcurrently() {
+        when(orderRepository.findByIdAndCustomerId(orderId, "customer-1"))
+                .thenReturn(Optional.of(order(OrderStatus.PENDING)));
+        when(orderRepository.transitionStatus(orderId, "customer-1", OrderStatus.PENDING, OrderStatus.CANCELLED))
+                .thenReturn(false);
+
+        assertThatThrownBy(() -> useCase.cancelOrder(orderId, "customer-1"))
+                .isInstanceOf(ConcurrentOrderUpdateException.class);
+
+        verify(eventPublisher, never()).publish(any());
+        verify(orderCompletions, never()).completeAfterCommit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report someone else's order as not found")
+    void testCancelOrder_NotOwner() {
+        when(orderRepository.findByIdAndCustomerId(orderId, "customer-2")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> useCase.cancelOrder(orderId, "customer-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    private Order order(OrderStatus status) {
+        return Order.reconstitute(orderId, "customer-1",
+                List.of(new OrderItem("SKU-A", 1, new BigDecimal("10.00"))),
+                new BigDecimal("10.00"), status, Instant.now());
+    }
+}
@@ -0,0 +1,109 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.out.DuplicateIdempotencyKeyException;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for IdempotentPlaceOrderUseCase
+ *
+ * Verifies that a key places at most one order: replays are answered from
+ * the key store, concurrent duplicates share one placement, and a key
+ * claimed elsewhere resolves to the winner's order.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotentPlaceOrderUseCase Unit Tests")
+class IdempotentPlaceOrderUseCaseTest {
+
+    private static final PlaceOrderCommand COMMAND = new PlaceOrderCommand("alice", Map.of("SKU-A", 1));
+
+    @Mock
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Mock
+    private IdempotencyKeyPort idempotencyKeys;
+
+    @InjectMocks
+    private IdempotentPlaceOrderUseCase useCase;
+
+    @Test
+    @DisplayName("Should return the stored order for a replayed key without placing")
+    void testReplay() {
+        UUID orderId = UUID.randomUUID();
+        when(idempotencyKeys.find("alice:key-1")).thenReturn(Optional.of(orderId));
+
+        assertThat(useCase.placeOrder(COMMAND, "key-1")).isEqualTo(orderId);
+        verify(placeOrderUseCase, never()).placeOrder(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should place once and remember the key for a first request")
+    void testFirstRequest() {
+        UUID orderId = UUID.randomUUID();
+        when(idempotencyKeys.find("alice:key-1")).thenReturn(Optional.empty());
+        when(placeOrderUseCase.placeOrder(COMMAND, "alice:key-1")).thenReturn(orderId);
+
+        assertThat(useCase.placeOrder(COMMAND, "key-1")).isEqualTo(orderId);
+        verify(idempotencyKeys).remember("alice:key-1", orderId);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent requests with the same key onto one placement")
+    void testConcurrentDuplicates() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Once the placement commits the key resolves, however late the duplicate arrives
+        when(idempotencyKeys.find("alice:key-1")).thenAnswer(invocation ->
+                release.getCount() == 0 ? Optional.of(orderId) : Optional.empty());
+        when(placeOrderUseCase.placeOrder(COMMAND, "alice:key-1")).thenAnswer(invocation -> {
+            placing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return orderId;
+        });
+
+        CompletableFuture<UUID> first = CompletableFuture.supplyAsync(() -> useCase.placeOrder(COMMAND, "key-1"));
+        assertThat(placing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UUID> second = CompletableFuture.supplyAsync(() -> useCase.placeOrder(COMMAND, "key-1"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(orderId);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(orderId);
+        verify(placeOrderUseCase, times(1)).placeOrder(COMMAND, "alice:key-1");
+    }
+
+    @Test
+    @DisplayName("Should return the winning order when another node claimed the key first")
+    void testLostClaim() {
+        UUID winner = UUID.randomUUID();
+        when(idempotencyKeys.find("alice:key-1"))
+                .thenReturn(Optional.empty(), Optional.empty(), Optional.of(winner));
+        when(placeOrderUseCase.placeOrder(COMMAND, "alice:key-1"))
+                .thenThrow(new DuplicateIdempotencyKeyException("alice:key-1", null));
+
+        assertThat(useCase.placeOrder(COMMAND, "key-1")).isEqualTo(winner);
+        verify(idempotencyKeys, never()).remember(anyString(), any());
+    }
+}
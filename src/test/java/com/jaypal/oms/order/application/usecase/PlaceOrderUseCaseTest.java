@@ -0,0 +1,190 @@
+package com.jaypal.oms.order.application.usecase;
+
+import com.jaypal.oms.order.application.port.in.PlaceOrderCommand;
+import com.jaypal.oms.order.application.port.in.PlaceOrderResult;
+import com.jaypal.oms.order.application.port.out.CatalogPort;
+import com.jaypal.oms.order.application.port.out.DuplicateIdempotencyKeyException;
+import com.jaypal.oms.order.application.port.out.IdempotencyKeyPort;
+import com.jaypal.oms.order.application.port.out.OrderEventPublisherPort;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import com.jaypal.oms.shared.infrastructure.id.IdGenerator;
+import com.jaypal.oms.shared.infrastructure.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for PlaceOrderUseCase
+ *
+ * Verifies batch placement: one catalog lookup, one bulk save,
+ * and per-order outcomes for rejected orders. Single placement also
+ * resolves all of its prices with one catalog lookup.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlaceOrderUseCase Unit Tests")
+class PlaceOrderUseCaseTest {
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private CatalogPort catalogPort;
+
+    @Mock
+    private OrderEventPublisherPort eventPublisher;
+
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @Mock
+    private IdempotencyKeyPort idempotencyKeys;
+
+    @InjectMocks
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Test
+    @DisplayName("Should resolve all batch prices with a single catalog call")
+    @SuppressWarnings("unchecked")
+    void testPlaceOrders_SingleCatalogCall() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00"),
+                "SKU-B", new BigDecimal("2.50")));
+
+        List<PlaceOrderResult> results = placeOrderUseCase.placeOrders(List.of(
+                new PlaceOrderCommand(Map.of("SKU-A", 1)),
+                new PlaceOrderCommand(Map.of("SKU-A", 2, "SKU-B", 3))));
+
+        assertThat(results).allMatch(PlaceOrderResult::isPlaced);
+
+        ArgumentCaptor<Collection<String>> skus = ArgumentCaptor.forClass(Collection.class);
+        verify(catalogPort).getPrices(skus.capture());
+        assertThat(skus.getValue()).containsExactlyInAnyOrder("SKU-A", "SKU-B");
+        verify(catalogPort, never()).getPrice(any());
+    }
+
+    @Test
+    @DisplayName("Should save accepted orders in one call as PENDING")
+    @SuppressWarnings("unchecked")
+    void testPlaceOrders_BulkSavePending() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00")));
+
+        placeOrderUseCase.placeOrders(List.of(
+                new PlaceOrderCommand(Map.of("SKU-A", 1)),
+                new PlaceOrderCommand(Map.of("SKU-A", 4))));
+
+        ArgumentCaptor<Collection<Order>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(orderRepository).saveAll(saved.capture());
+        verify(orderRepository, never()).save(any());
+        assertThat(saved.getValue()).hasSize(2)
+                .allMatch(o -> o.getStatus() == OrderStatus.PENDING);
+
+        ArgumentCaptor<Collection<OrderPlacedEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(eventPublisher).publish(events.capture());
+        assertThat(events.getValue()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject only the orders with unknown SKUs")
+    @SuppressWarnings("unchecked")
+    void testPlaceOrders_PartialRejection() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00")));
+
+        List<PlaceOrderResult> results = placeOrderUseCase.placeOrders(List.of(
+                new PlaceOrderCommand(Map.of("SKU-A", 1)),
+                new PlaceOrderCommand(Map.of("SKU-MISSING", 1))));
+
+        assertThat(results.get(0).isPlaced()).isTrue();
+        assertThat(results.get(1).isPlaced()).isFalse();
+        assertThat(results.get(1).error()).contains("SKU-MISSING");
+
+        ArgumentCaptor<Collection<Order>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(orderRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Order::getOrderId)
+                .containsExactly(results.get(0).orderId());
+
+        ArgumentCaptor<Collection<OrderPlacedEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(eventPublisher).publish(events.capture());
+        assertThat(events.getValue()).extracting(OrderPlacedEvent::getOrderId)
+                .containsExactly(results.get(0).orderId());
+    }
+
+    @Test
+    @DisplayName("Should price a multi-line order with a single catalog call")
+    void testPlaceOrder_SingleCatalogCall() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00"),
+                "SKU-B", new BigDecimal("2.50")));
+
+        placeOrderUseCase.placeOrder(new PlaceOrderCommand(Map.of("SKU-A", 2, "SKU-B", 4)));
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getItems()).hasSize(2);
+        verify(catalogPort).getPrices(anyCollection());
+        verify(catalogPort, never()).getPrice(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a single order with an unknown SKU before saving")
+    void testPlaceOrder_UnknownSku() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00")));
+
+        assertThatThrownBy(() -> placeOrderUseCase.placeOrder(
+                new PlaceOrderCommand(Map.of("SKU-A", 1, "SKU-MISSING", 1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SKU-MISSING");
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should claim the idempotency key for the new order id")
+    void testPlaceOrder_ClaimsIdempotencyKey() {
+        when(catalogPort.getPrices(anyCollection())).thenReturn(Map.of(
+                "SKU-A", new BigDecimal("10.00")));
+
+        UUID orderId = placeOrderUseCase.placeOrder(
+                new PlaceOrderCommand("alice", Map.of("SKU-A", 1)), "alice:key-1");
+
+        verify(idempotencyKeys).claim("alice:key-1", orderId);
+    }
+
+    @Test
+    @DisplayName("Should not price or save an order whose idempotency key is taken")
+    void testPlaceOrder_DuplicateIdempotencyKey() {
+        doThrow(new DuplicateIdempotencyKeyException("alice:key-1", null))
+                .when(idempotencyKeys).claim(eq("alice:key-1"), any());
+
+        assertThatThrownBy(() -> placeOrderUseCase.placeOrder(
+                new PlaceOrderCommand("alice", Map.of("SKU-A", 1)), "alice:key-1"))
+                .isInstanceOf(DuplicateIdempotencyKeyException.class);
+        verify(catalogPort, never()).getPrices(anyCollection());
+        verify(orderRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,266 @@
+package com.jaypal.oms.order.infrastructure.messaging;
+
+import com.jaypal.oms.order.domain.event.OrderCancelledEvent;
+import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
+import com.jaypal.oms.order.infrastructure.config.SagaExecutorConfig;
+import com.jaypal.oms.order.infrastructure.persistence.OrderOutboxJpaEntity;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxDeadLetterRepository;
+import com.jaypal.oms.order.infrastructure.persistence.SpringDataOrderOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the order outbox writer and relay against the test database.
+ *
+ * Saga steps run on a synchronous executor so that dispatched events are
+ * recorded on the test thread, on the relay worker that claimed them.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderEventCodec.class, OrderOutboxRelay.class, OrderOutboxRelayTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order Outbox Relay Tests")
+class OrderOutboxRelayTest {
+
+    @Autowired
+    private SpringDataOrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderEventCodec codec;
+
+    @Autowired
+    private OrderOutboxRelay relay;
+
+    @Autowired
+    private SpringDataOrderOutboxDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private TransactionProbe transactionProbe;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        deadLetterRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should dispatch committed events and empty the outbox")
+    void testDrain_DispatchesAndDeletes() {
+        UUID placedId = UUID.randomUUID();
+        UUID cancelledId = UUID.randomUUID();
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxRepository, codec);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> publisher.publish(List.of(
+                new OrderPlacedEvent(placedId, Map.of("SKU-A", 2)),
+                new OrderCancelledEvent(cancelledId, "Customer-initiated cancellation"))));
+
+        assertThat(relay.drain()).isEqualTo(2);
+
+        assertThat(events.stream(OrderPlacedEvent.class)).singleElement().satisfies(e -> {
+            assertThat(e.getOrderId()).isEqualTo(placedId);
+            assertThat(e.getSkuQuantities()).isEqualTo(Map.of("SKU-A", 2));
+        });
+        assertThat(events.stream(OrderCancelledEvent.class)).singleElement()
+                .extracting(OrderCancelledEvent::getReason)
+                .isEqualTo("Customer-initiated cancellation");
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip rows claimed by another worker")
+    void testClaimBatch_SkipsLockedRows() throws Exception {
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxRepository, codec);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> publisher.publish(List.of(
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)),
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)),
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)))));
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> tx.execute(s -> {
+            List<Long> ids = outboxRepository.claimBatch(Instant.now(), 2).stream().map(OrderOutboxJpaEntity::getId).toList();
+            claimed.countDown();
+            await(release);
+            return ids;
+        }));
+        assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> second = tx.execute(s -> outboxRepository.claimBatch(Instant.now(), 10).stream()
+                .map(OrderOutboxJpaEntity::getId).toList());
+        release.countDown();
+
+        assertThat(second).hasSize(1).doesNotContainAnyElementsOf(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should skip rows whose claim has not lapsed yet")
+    void testClaimBatch_SkipsLeasedRows() {
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxRepository, codec);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> publisher.publish(List.of(
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)),
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)))));
+        Instant now = Instant.now();
+
+        List<Long> leased = tx.execute(s -> {
+            List<Long> ids = outboxRepository.claimBatch(now, 1).stream().map(OrderOutboxJpaEntity::getId).toList();
+            outboxRepository.markClaimed(ids, now.plusSeconds(60));
+            return ids;
+        });
+
+        assertThat(tx.<List<OrderOutboxJpaEntity>>execute(s -> outboxRepository.claimBatch(now, 10)))
+                .extracting(OrderOutboxJpaEntity::getId)
+                .hasSize(1)
+                .doesNotContainAnyElementsOf(leased);
+        assertThat(tx.<List<OrderOutboxJpaEntity>>execute(s -> outboxRepository.claimBatch(now.plusSeconds(61), 10))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should run saga steps outside the claiming transaction")
+    void testDrain_DispatchesOutsideTransaction() {
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxRepository, codec);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> publisher.publish(List.of(
+                new OrderPlacedEvent(TransactionProbe.PROBED_ORDER, Map.of("SKU-A", 1)))));
+
+        assertThat(relay.drain()).isEqualTo(1);
+
+        assertThat(transactionProbe.transactionActive).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should move undecodable events to the dead-letter table and count them apart")
+    void testDrain_DeadLettersUndecodableRows() {
+        double relayedBefore = meterRegistry.counter("outbox.relay.events").count();
+        double deadBefore = meterRegistry.counter("outbox.relay.dead_letters").count();
+        OrderOutboxJpaEntity row = outboxRepository.save(
+                new OrderOutboxJpaEntity("Unknown", UUID.randomUUID(), "{}", Instant.now()));
+
+        assertThat(relay.drain()).isEqualTo(1);
+
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(deadLetterRepository.findById(row.getId())).get()
+                .satisfies(d -> {
+                    assertThat(d.getEventType()).isEqualTo("Unknown");
+                    assertThat(d.getError()).contains("Unknown");
+                });
+        assertThat(meterRegistry.counter("outbox.relay.dead_letters").count()).isEqualTo(deadBefore + 1);
+        assertThat(meterRegistry.counter("outbox.relay.events").count()).isEqualTo(relayedBefore);
+    }
+
+    @Test
+    @DisplayName("Should keep an event whose saga step failed until its claim lapses")
+    void testDrain_KeepsFailedDispatch() {
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxRepository, codec);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> publisher.publish(List.of(
+                new OrderPlacedEvent(UUID.randomUUID(), Map.of("SKU-A", 1)),
+                new OrderPlacedEvent(FailingSagaStep.FAILING_ORDER, Map.of("SKU-A", 1)))));
+
+        assertThat(relay.drain()).isEqualTo(1);
+
+        assertThat(outboxRepository.findAll()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getOrderId()).isEqualTo(FailingSagaStep.FAILING_ORDER);
+                    assertThat(row.getClaimedUntil()).isAfter(Instant.now());
+                });
+        assertThat(relay.drain()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean(name = SagaExecutorConfig.SAGA_EXECUTOR)
+        TaskExecutor sagaExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        FailingSagaStep failingSagaStep() {
+            return new FailingSagaStep();
+        }
+
+        @Bean
+        TransactionProbe transactionProbe() {
+            return new TransactionProbe();
+        }
+    }
+
+    static class TransactionProbe {
+
+        static final UUID PROBED_ORDER = UUID.randomUUID();
+
+        volatile Boolean transactionActive;
+
+        @EventListener
+        void onOrderPlaced(OrderPlacedEvent event) {
+            if (PROBED_ORDER.equals(event.getOrderId())) {
+                transactionActive = TransactionSynchronizationManager.isActualTransactionActive();
+            }
+        }
+    }
+
+    static class FailingSagaStep {
+
+        static final UUID FAILING_ORDER = UUID.randomUUID();
+
+        @EventListener
+        void onOrderPlaced(OrderPlacedEvent event) {
+            if (FAILING_ORDER.equals(event.getOrderId())) {
+                throw new IllegalStateException("Saga step failed");
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.jaypal.oms.order.infrastructure.persistence;
+
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderSummary;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderItem;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count regression tests for OrderRepositoryAdapter
+ *
+ * Guards the dirty-tracking save path: items are written once on insert,
+ * and status transitions (conditional ones included) cost exactly one
+ * UPDATE. Also covers the keyset scans used by the stuck-order sweeper and
+ * the order listing.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("OrderRepositoryAdapter Persistence Tests")
+class OrderRepositoryAdapterTest {
+
+    @Autowired
+    private SpringDataOrderRepository orderRepository;
+
+    @Autowired
+    private SpringDataOrderItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private OrderRepositoryAdapter adapter;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new OrderRepositoryAdapter(orderRepository, itemRepository);
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should insert a new order without selecting or deleting items")
+    void testSave_NewOrder() {
+        Order order = newOrder();
+        statistics.clear();
+
+        adapter.save(order);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write a status transition as a single UPDATE")
+    void testSave_StatusTransition() {
+        Order order = newOrder();
+        adapter.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        Order loaded = adapter.findById(order.getOrderId()).orElseThrow();
+        loaded.cancel("Test cancellation");
+        statistics.clear();
+
+        adapter.save(loaded);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+
+        assertThat(orderRepository.findById(order.getOrderId()))
+                .get()
+                .extracting(OrderJpaEntity::getStatus)
+                .isEqualTo(OrderStatus.CANCELLED.name());
+        assertThat(itemRepository.findByOrderId(order.getOrderId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should apply a status transition only from the expected status")
+    void testTransitionStatus_CompareAndSet() {
+        UUID orderId = insertOrder(OrderStatus.PENDING, Instant.now());
+        entityManager.flush();
+        statistics.clear();
+
+        assertThat(adapter.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)).isTrue();
+        assertThat(adapter.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED)).isFalse();
+        assertThat(adapter.transitionStatus(UUID.randomUUID(), OrderStatus.PENDING, OrderStatus.CONFIRMED)).isFalse();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(orderRepository.findById(orderId))
+                .get()
+                .extracting(OrderJpaEntity::getStatus)
+                .isEqualTo(OrderStatus.CANCELLED.name());
+    }
+
+    @Test
+    @DisplayName("Should issue no statements when nothing changed")
+    void testSave_Unchanged() {
+        Order order = newOrder();
+        adapter.save(order);
+        entityManager.flush();
+        statistics.clear();
+
+        adapter.save(order);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hydrate order and items in one query, keeping stored status")
+    void testFindById_SingleQuery() {
+        Order order = newOrder();
+        adapter.save(order);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Order loaded = adapter.findById(order.getOrderId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(loaded.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(loaded.getItems()).containsExactlyElementsOf(order.getItems());
+        assertThat(loaded.getSubtotal()).isEqualByComparingTo("25.00");
+        assertThat(loaded.getItems())
+                .extracting(OrderItem::totalPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("20.00"), new BigDecimal("5.00"));
+        assertThat(loaded.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown order")
+    void testFindById_NotFound() {
+        assertThat(adapter.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page stuck PENDING orders by (createdAt, orderId) keyset")
+    void testFindPendingCreatedBefore_Keyset() {
+        Instant now = Instant.now();
+        UUID first = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(3)));
+        UUID second = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(2)));
+        UUID third = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(1)));
+        insertOrder(OrderStatus.CONFIRMED, now.minus(Duration.ofHours(2)));
+        insertOrder(OrderStatus.PENDING, now);
+        Instant cutoff = now.minus(Duration.ofMinutes(30));
+
+        List<OrderKey> page1 = adapter.findPendingCreatedBefore(cutoff, null, 2);
+        List<OrderKey> page2 = adapter.findPendingCreatedBefore(cutoff, page1.get(1), 2);
+
+        assertThat(page1).extracting(OrderKey::orderId).containsExactly(first, second);
+        assertThat(page2).extracting(OrderKey::orderId).containsExactly(third);
+        assertThat(adapter.countPendingCreatedBefore(cutoff)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should page order summaries newest first within status and time range")
+    void testFindSummaries_KeysetNewestFirst() {
+        Instant now = Instant.now();
+        insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(4)));
+        UUID older = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(3)));
+        UUID middle = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(2)));
+        UUID newer = insertOrder(OrderStatus.PENDING, now.minus(Duration.ofHours(1)));
+        UUID confirmed = insertOrder(OrderStatus.CONFIRMED, now.minus(Duration.ofHours(1)));
+        insertOrder(OrderStatus.PENDING, now);
+        Instant from = now.minus(Duration.ofMinutes(210));
+        Instant to = now.minus(Duration.ofMinutes(30));
+
+        List<OrderSummary> page1 = adapter.findSummaries(OrderStatus.PENDING, from, to, null, 2);
+        List<OrderSummary> page2 = adapter.findSummaries(OrderStatus.PENDING, from, to, page1.get(1).key(), 2);
+        List<OrderSummary> anyStatus = adapter.findSummaries(null, from, to, null, 10);
+
+        assertThat(page1).extracting(OrderSummary::orderId).containsExactly(newer, middle);
+        assertThat(page2).extracting(OrderSummary::orderId).containsExactly(older);
+        assertThat(page1.get(0).subtotal()).isEqualByComparingTo("1");
+        assertThat(anyStatus).extracting(OrderSummary::orderId)
+                .hasSize(4)
+                .contains(confirmed, newer, middle, older);
+    }
+
+    @Test
+    @DisplayName("Should load and cancel an order for its owner only and page a customer's history")
+    void testCustomerOwnership() {
+        Order mine = new Order(UUID.randomUUID(), "customer-1", List.of(
+                new OrderItem("SKU-001", 1, new BigDecimal("10.00"))));
+        mine.markPending();
+        adapter.save(mine);
+        adapter.save(newOrder());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(adapter.findByIdAndCustomerId(mine.getOrderId(), "customer-1"))
+                .get()
+                .extracting(Order::getCustomerId)
+                .isEqualTo("customer-1");
+        assertThat(adapter.findByIdAndCustomerId(mine.getOrderId(), "customer-2")).isEmpty();
+        assertThat(adapter.findSummariesByCustomerId("customer-1", null, 10))
+                .extracting(OrderSummary::orderId)
+                .containsExactly(mine.getOrderId());
+
+        assertThat(adapter.transitionStatus(mine.getOrderId(), "customer-2", OrderStatus.PENDING, OrderStatus.CANCELLED))
+                .isFalse();
+        assertThat(adapter.transitionStatus(mine.getOrderId(), "customer-1", OrderStatus.PENDING, OrderStatus.CANCELLED))
+                .isTrue();
+    }
+
+    private UUID insertOrder(OrderStatus status, Instant createdAt) {
+        UUID orderId = UUID.randomUUID();
+        orderRepository.save(new OrderJpaEntity(orderId, null, status.name(), BigDecimal.ONE, createdAt).markNew());
+        return orderId;
+    }
+
+    private Order newOrder() {
+        Order order = new Order(UUID.randomUUID(), List.of(
+                new OrderItem("SKU-001", 2, new BigDecimal("10.00")),
+                new OrderItem("SKU-002", 1, new BigDecimal("5.00"))));
+        order.markPending();
+        return order;
+    }
+}
@@ -0,0 +1,224 @@
+package com.jaypal.oms.order.infrastructure.saga;
+
+import com.jaypal.oms.inventory.application.usecase.ReleaseStockUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReservationExpiryUseCase;
+import com.jaypal.oms.inventory.application.usecase.ReserveStockUseCase;
+import com.jaypal.oms.inventory.domain.exception.InsufficientStockException;
+import com.jaypal.oms.order.application.OrderCompletionRegistry;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.domain.event.OrderPlacedEvent;
+import com.jaypal.oms.order.domain.model.Order;
+import com.jaypal.oms.order.domain.model.OrderItem;
+import com.jaypal.oms.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for OrderSagaOrchestrator
+ *
+ * Verifies that the saga drives a placed order to its terminal state
+ * once stock reservation succeeds or fails, with conditional status
+ * transitions rather than load-and-save, and completes the handles of
+ * callers waiting on the outcome.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderSagaOrchestrator Unit Tests")
+class OrderSagaOrchestratorTest {
+
+    @Mock
+    private ReserveStockUseCase reserveStockUseCase;
+
+    @Mock
+    private ReleaseStockUseCase releaseStockUseCase;
+
+    @Mock
+    private ReservationExpiryUseCase reservationExpiryUseCase;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private OrderCompletionRegistry orderCompletions;
+
+    @InjectMocks
+    private OrderSagaOrchestrator saga;
+
+    private UUID orderId;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+        order = Order.reconstitute(orderId, "customer-1",
+                List.of(new OrderItem("SKU-A", 2, new BigDecimal("10.00"))),
+                new BigDecimal("20.00"), OrderStatus.PENDING, Instant.now());
+        lenient().when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("Should confirm the order once stock is reserved")
+    void testHandleOrderPlaced_ReservationSucceeds() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenReturn(true);
+
+        saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2)));
+
+        verify(reserveStockUseCase).reserve(eq(orderId), eq(Map.of("SKU-A", 2)));
+        verify(reservationExpiryUseCase).retain(orderId);
+        verify(orderCompletions).completeAfterCommit(orderId, OrderStatus.CONFIRMED);
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should cancel the order when stock cannot be reserved")
+    void testHandleOrderPlaced_ReservationFails() {
+        doThrow(new InsufficientStockException("Insufficient stock for SKU-A"))
+                .when(reserveStockUseCase).reserve(eq(orderId), anyMap());
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED))
+                .thenReturn(true);
+
+        saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2)));
+
+        verify(orderCompletions).completeAfterCommit(orderId, OrderStatus.CANCELLED);
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should propagate a database failure during reservation instead of cancelling")
+    void testHandleOrderPlaced_ReservationInfrastructureFailure() {
+        doThrow(new CannotCreateTransactionException("Connection is not available"))
+                .when(reserveStockUseCase).reserve(eq(orderId), anyMap());
+
+        assertThatThrownBy(() -> saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2))))
+                .isInstanceOf(CannotCreateTransactionException.class);
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any());
+        verify(orderCompletions, never()).completeAfterCommit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should propagate a database failure while confirming so the event is redelivered")
+    void testHandleOrderPlaced_ConfirmationInfrastructureFailure() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2))))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        verify(orderRepository, never()).transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should release stock when the order was cancelled during reservation")
+    void testHandleOrderPlaced_CancelledDuringReservation() {
+        order.cancel("Customer request");
+
+        saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2)));
+
+        verify(orderRepository).transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        verify(releaseStockUseCase).release(orderId);
+        verify(reservationExpiryUseCase, never()).retain(any());
+        verify(orderCompletions).completeAfterCommit(orderId, OrderStatus.CANCELLED);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when a reservation is replayed for a confirmed order")
+    void testHandleStockReserved_AlreadyConfirmed() {
+        order.confirm();
+
+        saga.handleOrderPlaced(new OrderPlacedEvent(orderId, Map.of("SKU-A", 2)));
+
+        verify(releaseStockUseCase, never()).release(any());
+        verify(reservationExpiryUseCase, never()).retain(any());
+        verify(orderCompletions, never()).completeAfterCommit(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should cancel an order stuck in PENDING with a conditional update, then release its stock")
+    void testHandleOrderTimeout_Pending() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)).thenReturn(true);
+
+        assertThat(saga.handleOrderTimeout(orderId)).isTrue();
+
+        InOrder inOrder = inOrder(orderRepository, releaseStockUseCase);
+        inOrder.verify(orderRepository).transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        inOrder.verify(releaseStockUseCase).release(orderId);
+        verify(orderRepository, never()).save(any());
+        verify(orderCompletions).completeAfterCommit(orderId, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should neither cancel nor release an order confirmed before the timeout")
+    void testHandleOrderTimeout_ConfirmedConcurrently() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)).thenReturn(false);
+
+        assertThat(saga.handleOrderTimeout(orderId)).isTrue();
+
+        verify(releaseStockUseCase, never()).release(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report failure when the release after a timeout cancellation fails")
+    void testHandleOrderTimeout_ReleaseFails() {
+        when(orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED)).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(releaseStockUseCase).release(orderId);
+
+        assertThat(saga.handleOrderTimeout(orderId)).isFalse();
+
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should retain an expired reservation of a confirmed order")
+    void testHandleReservationExpired_Confirmed() {
+        order.confirm();
+
+        assertThat(saga.handleReservationExpired(orderId)).isTrue();
+
+        verify(reservationExpiryUseCase).retain(orderId);
+        verify(releaseStockUseCase, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should release an expired reservation of a cancelled order")
+    void testHandleReservationExpired_Cancelled() {
+        order.cancel("Customer request");
+
+        assertThat(saga.handleReservationExpired(orderId)).isTrue();
+
+        verify(releaseStockUseCase).release(orderId);
+        verify(reservationExpiryUseCase, never()).retain(any());
+    }
+}
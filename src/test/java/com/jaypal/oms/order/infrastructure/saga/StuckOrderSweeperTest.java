@@ -0,0 +1,125 @@
+package com.jaypal.oms.order.infrastructure.saga;
+
+import com.jaypal.oms.inventory.application.usecase.ReservationExpiryUseCase;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort;
+import com.jaypal.oms.order.application.port.out.OrderRepositoryPort.OrderKey;
+import com.jaypal.oms.shared.infrastructure.lock.SchedulerLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for StuckOrderSweeper
+ *
+ * Verifies keyset paging over stuck orders, recovery accounting and
+ * the expired-reservation pass.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StuckOrderSweeper Unit Tests")
+class StuckOrderSweeperTest {
+
+    @Mock
+    private OrderSagaOrchestrator saga;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private ReservationExpiryUseCase reservationExpiryUseCase;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StuckOrderSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new StuckOrderSweeper(saga, orderRepository, reservationExpiryUseCase,
+                Clock.systemUTC(), schedulerLock, meterRegistry, 600_000, 30, 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should time out every stuck order, paging with the last key as cursor")
+    void testSweepStuckOrders_Keyset() {
+        OrderKey a = key();
+        OrderKey b = key();
+        OrderKey c = key();
+        when(orderRepository.findPendingCreatedBefore(any(), isNull(), eq(2))).thenReturn(List.of(a, b));
+        when(orderRepository.findPendingCreatedBefore(any(), eq(b), eq(2))).thenReturn(List.of(c));
+        when(saga.handleOrderTimeout(a.orderId())).thenReturn(true);
+        when(saga.handleOrderTimeout(b.orderId())).thenReturn(false);
+        when(saga.handleOrderTimeout(c.orderId())).thenReturn(true);
+
+        assertThat(sweeper.sweepStuckOrders()).isEqualTo(3);
+
+        assertThat(sweeper.getLastStuckCount()).isEqualTo(3);
+        assertThat(meterRegistry.counter("saga.sweeper.recovered").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("saga.sweeper.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve expired reservations through the saga")
+    void testSweepExpiredReservations() {
+        UUID orderId = UUID.randomUUID();
+        when(reservationExpiryUseCase.findExpired(2)).thenReturn(List.of(orderId));
+        when(saga.handleReservationExpired(orderId)).thenReturn(true);
+
+        assertThat(sweeper.sweepExpiredReservations()).isEqualTo(1);
+
+        verify(saga).handleReservationExpired(orderId);
+        verify(saga, never()).handleOrderTimeout(any());
+    }
+
+    @Test
+    @DisplayName("Should sweep under the lease and release it afterwards")
+    void testSweep_HoldsLease() {
+        when(schedulerLock.tryAcquire(eq(StuckOrderSweeper.LEASE), any())).thenReturn(true);
+
+        sweeper.sweep();
+
+        verify(orderRepository).findPendingCreatedBefore(any(), isNull(), eq(2));
+        verify(reservationExpiryUseCase).findExpired(2);
+        verify(schedulerLock).release(StuckOrderSweeper.LEASE);
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lease")
+    void testSweep_LeaseHeldElsewhere() {
+        when(schedulerLock.tryAcquire(eq(StuckOrderSweeper.LEASE), any())).thenReturn(false);
+
+        sweeper.sweep();
+
+        verifyNoInteractions(orderRepository, reservationExpiryUseCase, saga);
+        verify(schedulerLock, never()).release(any());
+    }
+
+    private static OrderKey key() {
+        return new OrderKey(UUID.randomUUID(), Instant.now());
+    }
+}
@@ -0,0 +1,95 @@
+package com.jaypal.oms.shared.infrastructure.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for UuidV7Generator
+ *
+ * Checks the RFC 9562 layout and strict monotonicity: within a millisecond,
+ * across threads, on counter overflow and when the clock steps backwards.
+ */
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should encode version 7, the IETF variant and the millisecond timestamp")
+    void testLayout() {
+        long now = 1_700_000_000_000L;
+        UUID id = new UuidV7Generator(() -> now).newId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now);
+    }
+
+    @Test
+    @DisplayName("Should stay strictly increasing within one millisecond and past counter overflow")
+    void testMonotonicWithinMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.newId();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.newId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay strictly increasing when the clock steps backwards")
+    void testClockStepsBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        UUID before = generator.newId();
+        clock.addAndGet(-5_000);
+        UUID after = generator.newId();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("Should hand out unique, per-thread increasing ids under concurrency")
+    void testConcurrentUniqueness() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    UUID previous = generator.newId();
+                    seen.add(previous);
+                    boolean increasing = true;
+                    for (int i = 0; i < 20_000; i++) {
+                        UUID next = generator.newId();
+                        increasing &= next.compareTo(previous) > 0;
+                        seen.add(next);
+                        previous = next;
+                    }
+                    return increasing;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(8 * 20_001);
+    }
+}
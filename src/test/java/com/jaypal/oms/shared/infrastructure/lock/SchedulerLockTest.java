@@ -0,0 +1,67 @@
+package com.jaypal.oms.shared.infrastructure.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Persistence tests for SchedulerLock against the test database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SchedulerLock Persistence Tests")
+class SchedulerLockTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-31T12:00:00Z");
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private SpringDataSchedulerLockRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should let one instance hold the lease until it is released")
+    void testAcquireAndRelease() {
+        SchedulerLock a = lock("node-a", NOW);
+        SchedulerLock b = lock("node-b", NOW);
+
+        assertThat(a.tryAcquire("job", LEASE)).isTrue();
+        assertThat(b.tryAcquire("job", LEASE)).isFalse();
+        assertThat(a.tryAcquire("job", LEASE)).isTrue();
+
+        a.release("job");
+        assertThat(b.tryAcquire("job", LEASE)).isTrue();
+        assertThat(a.tryAcquire("job", LEASE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let another instance take over a lease that ran out")
+    void testExpiredLease() {
+        assertThat(lock("node-a", NOW).tryAcquire("job", LEASE)).isTrue();
+
+        assertThat(lock("node-b", NOW.plus(LEASE).minusSeconds(1)).tryAcquire("job", LEASE)).isFalse();
+        assertThat(lock("node-b", NOW.plus(LEASE)).tryAcquire("job", LEASE)).isTrue();
+        assertThat(repository.findById("job").orElseThrow().getLockedBy()).isEqualTo("node-b");
+    }
+
+    private SchedulerLock lock(String owner, Instant now) {
+        return new SchedulerLock(repository, Clock.fixed(now, ZoneOffset.UTC), owner);
+    }
+}